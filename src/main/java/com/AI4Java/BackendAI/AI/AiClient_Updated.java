@@ -1,13 +1,5 @@
 package com.AI4Java.BackendAI.AI;
 
-import com.AI4Java.BackendAI.AI.tools.Emails.EmailTools;
-import com.AI4Java.BackendAI.AI.tools.Emails.ReportTools;
-import com.AI4Java.BackendAI.AI.tools.Emails.ServerInfoTools;
-import com.AI4Java.BackendAI.AI.tools.Free.*;
-import com.AI4Java.BackendAI.AI.tools.WebSearch.PlaywrightBrowserSearchTools;
-import com.AI4Java.BackendAI.AI.tools.WebSearch.PlaywrightWebScraperTools;
-import com.AI4Java.BackendAI.AI.tools.WebSearch.SeleniumBrowserSearchTools;
-import com.AI4Java.BackendAI.AI.tools.WebSearch.SeleniumWebScraperTools;
 import com.AI4Java.BackendAI.entries.SessionEntries;
 import com.AI4Java.BackendAI.entries.UserEntries;
 import com.AI4Java.BackendAI.services.SessionServices;
@@ -16,25 +8,12 @@ import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
 import org.springframework.ai.chat.memory.ChatMemory;
-import org.springframework.ai.openai.OpenAiChatModel;
-import org.springframework.ai.openai.OpenAiChatOptions;
-import org.springframework.ai.openai.api.OpenAiApi;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.client.JdkClientHttpRequestFactory;
-import org.springframework.http.client.reactive.JdkClientHttpConnector;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
-import java.net.http.HttpClient;
-import java.time.Duration;
 import java.util.Map;
 
-import org.springframework.beans.factory.annotation.Qualifier;
-
 @Service
 public class AiClient_Updated {
 
@@ -47,54 +26,12 @@ public class AiClient_Updated {
         private UserServices userServices;
 
         @Autowired
-        private ServerInfoTools serverInfoTools;
-
-        @Autowired
-        private EmailTools emailTools;
-
-        @Autowired
-        private ReportTools reportTools;
-
-        @Autowired
-        private PlaywrightBrowserSearchTools playwrightBrowserSearchTools;
-
-        @Autowired
-        private PlaywrightWebScraperTools playwrightWebScraperTools;
-
-        @Autowired
-        private SeleniumBrowserSearchTools seleniumBrowserSearchTools;
-
-        @Autowired
-        private SeleniumWebScraperTools seleniumWebScraperTools;
+        private ChatClientRegistry chatClientRegistry;
 
 
-    private final ChatMemory chatMemory;
-    private final OpenAiApi openAiApi;
     private final String systemText;
 
-    public AiClient_Updated(@Qualifier("embeddedMemory") ChatMemory chatMemory,
-                            @Value("${spring.ai.openai.api-key}") String apiKey,
-                            @Value("${spring.ai.openai.base-url}") String baseUrl) {
-        this.chatMemory = chatMemory;
-        log.info("Initializing OpenAiApi with base URL: {}", baseUrl);
-        this.openAiApi = OpenAiApi.builder()
-                .baseUrl(baseUrl)
-                .apiKey(() -> apiKey)
-                .webClientBuilder(WebClient.builder()
-                        // Force HTTP/1.1 for streaming requests
-                        .clientConnector(new JdkClientHttpConnector(HttpClient.newBuilder()
-                                .version(HttpClient.Version.HTTP_1_1)
-                                .connectTimeout(Duration.ofSeconds(90))
-                                .build())))
-                .restClientBuilder(RestClient.builder()
-                        // Force HTTP/1.1 for non-streaming requests
-                        .requestFactory(new JdkClientHttpRequestFactory(
-                                HttpClient.newBuilder()
-                                        .version(HttpClient.Version.HTTP_1_1)
-                                        .connectTimeout(Duration.ofSeconds(90))
-                                        .build()
-                        )))
-                .build();
+    public AiClient_Updated() {
         this.systemText = """
 You are an AI Search Assistant.
 Your name is Searchiri.
@@ -134,40 +71,17 @@ Follow these RULES strictly:
         String model = sessionEntries.getModel();
         log.info("Using model: {}", model);
 
-        OpenAiChatOptions openAiChatOptions = OpenAiChatOptions.builder()
-                .model(model)
-                .temperature(0.7)
-                .topP(0.90)
-                .frequencyPenalty(1.15)
-                .reasoningEffort("high")
-                .maxTokens(8192)
-                .build();
-
-        OpenAiChatModel chatModel = OpenAiChatModel.builder()
-                .openAiApi(this.openAiApi)
-                .defaultOptions(openAiChatOptions)
-                .build();
-
-        MessageChatMemoryAdvisor advisor = MessageChatMemoryAdvisor
-                .builder(this.chatMemory)
-                .conversationId(convId)
-                .build();
-
-        ChatClient chatClient = ChatClient.builder(chatModel)
-                .defaultAdvisors(advisor)
-                .build();
+        ChatClient chatClient = chatClientRegistry.getClient(model);
 
         log.info("Streaming AI response...");
         return chatClient
                 .prompt()
                 .system(systemText)
                 .user(userPrompt)
-                .toolContext(Map.of("userMail", userEntries.getGmail()))
-                .toolContext(Map.of("userVerify", userEntries.isVerified()))
-                .tools(emailTools, serverInfoTools,
-                reportTools, playwrightBrowserSearchTools,
-                playwrightWebScraperTools, seleniumBrowserSearchTools,
-                seleniumWebScraperTools)
+                .advisors(a -> a.param(ChatMemory.CONVERSATION_ID, convId))
+                .toolContext(Map.of(
+                        "userMail", userEntries.getGmail(),
+                        "userVerify", userEntries.isVerified()))
                 .stream()
                 .chatResponse()
                 .doOnError(e -> log.error("Error during AI response streaming for session {}", convId, e))
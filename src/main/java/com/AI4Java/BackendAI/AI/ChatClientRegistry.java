@@ -0,0 +1,170 @@
+package com.AI4Java.BackendAI.AI;
+
+import com.AI4Java.BackendAI.AI.tools.Emails.EmailTools;
+import com.AI4Java.BackendAI.AI.tools.Emails.ReportTools;
+import com.AI4Java.BackendAI.AI.tools.Emails.ServerInfoTools;
+import com.AI4Java.BackendAI.AI.tools.Execution.CachingToolCallback;
+import com.AI4Java.BackendAI.AI.tools.Execution.GuardedToolCallback;
+import com.AI4Java.BackendAI.AI.tools.Execution.SingleFlightToolCallback;
+import com.AI4Java.BackendAI.AI.tools.Execution.ToolCallCoalescer;
+import com.AI4Java.BackendAI.AI.tools.Execution.ToolExecutor;
+import com.AI4Java.BackendAI.AI.tools.Execution.ToolResultCache;
+import com.AI4Java.BackendAI.AI.tools.WebSearch.BulkScraperTools;
+import com.AI4Java.BackendAI.AI.tools.WebSearch.PlaywrightBrowserSearchTools;
+import com.AI4Java.BackendAI.AI.tools.WebSearch.PlaywrightWebScraperTools;
+import com.AI4Java.BackendAI.AI.tools.WebSearch.SeleniumBrowserSearchTools;
+import com.AI4Java.BackendAI.AI.tools.WebSearch.SeleniumWebScraperTools;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.ai.support.ToolCallbacks;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.reactive.JdkClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Holds one prebuilt {@link ChatClient} per model. Tool callbacks are resolved once
+ * at startup; per-request values (conversation id, tool context) are supplied at call time.
+ * Model names come from clients, so only the most recently used {@code ai.chat.max-clients}
+ * clients are kept.
+ */
+@Component
+public class ChatClientRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatClientRegistry.class);
+
+    private static final int DEFAULT_MAX_CLIENTS = 32;
+
+    private final OpenAiApi openAiApi;
+    private final ChatMemory chatMemory;
+    private final List<ToolCallback> toolCallbacks;
+    private final ToolCallingManager toolCallingManager;
+    private final Cache<String, ChatClient> clients;
+
+    @Autowired
+    public ChatClientRegistry(@Qualifier("embeddedMemory") ChatMemory chatMemory,
+                              @Value("${spring.ai.openai.api-key}") String apiKey,
+                              @Value("${spring.ai.openai.base-url}") String baseUrl,
+                              @Value("${ai.chat.max-clients:32}") int maxClients,
+                              EmailTools emailTools,
+                              ServerInfoTools serverInfoTools,
+                              ReportTools reportTools,
+                              PlaywrightBrowserSearchTools playwrightBrowserSearchTools,
+                              PlaywrightWebScraperTools playwrightWebScraperTools,
+                              SeleniumBrowserSearchTools seleniumBrowserSearchTools,
+                              SeleniumWebScraperTools seleniumWebScraperTools,
+                              BulkScraperTools bulkScraperTools,
+                              ToolExecutor toolExecutor,
+                              ToolResultCache toolResultCache,
+                              ToolCallCoalescer toolCallCoalescer,
+                              ToolCallingManager toolCallingManager) {
+        // Every tool runs on the bounded tool pool with its own timeout and bulkhead;
+        // allowlisted tools answer repeated calls from the result cache, and identical
+        // concurrent misses share one call, before reaching the pool
+        this(buildOpenAiApi(apiKey, baseUrl), chatMemory, CachingToolCallback.cacheAll(toolResultCache,
+                SingleFlightToolCallback.coalesceAll(toolCallCoalescer,
+                        GuardedToolCallback.guardAll(toolExecutor,
+                                ToolCallbacks.from(emailTools, serverInfoTools,
+                                        reportTools, playwrightBrowserSearchTools,
+                                        playwrightWebScraperTools, seleniumBrowserSearchTools,
+                                        seleniumWebScraperTools, bulkScraperTools)))), toolCallingManager,
+                maxClients);
+    }
+
+    public ChatClientRegistry(OpenAiApi openAiApi, ChatMemory chatMemory, Object... toolBeans) {
+        this(openAiApi, chatMemory, List.of(ToolCallbacks.from(toolBeans)));
+    }
+
+    public ChatClientRegistry(OpenAiApi openAiApi, ChatMemory chatMemory, List<ToolCallback> toolCallbacks) {
+        this(openAiApi, chatMemory, toolCallbacks, ToolCallingManager.builder().build(), DEFAULT_MAX_CLIENTS);
+    }
+
+    public ChatClientRegistry(OpenAiApi openAiApi, ChatMemory chatMemory, List<ToolCallback> toolCallbacks,
+                              ToolCallingManager toolCallingManager, int maxClients) {
+        this.openAiApi = openAiApi;
+        this.chatMemory = chatMemory;
+        this.toolCallbacks = List.copyOf(toolCallbacks);
+        this.toolCallingManager = toolCallingManager;
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .build();
+        log.info("ChatClientRegistry initialized with {} tool callbacks.", toolCallbacks.size());
+    }
+
+    public ChatClient getClient(String model) {
+        return clients.get(model, this::createClient);
+    }
+
+    private ChatClient createClient(String model) {
+        log.info("Building ChatClient for model: {}", model);
+
+        OpenAiChatOptions openAiChatOptions = OpenAiChatOptions.builder()
+                .model(model)
+                .temperature(0.7)
+                .topP(0.90)
+                .frequencyPenalty(1.15)
+                .reasoningEffort("high")
+                .maxTokens(8192)
+                .build();
+
+        OpenAiChatModel chatModel = OpenAiChatModel.builder()
+                .openAiApi(this.openAiApi)
+                .defaultOptions(openAiChatOptions)
+                // Tool calls of one turn run in parallel (see ParallelToolCallingManager)
+                .toolCallingManager(toolCallingManager)
+                .build();
+
+        // History window/token budget is per model; conversation id is passed per request via ChatMemory.CONVERSATION_ID
+        ChatMemory modelMemory = chatMemory instanceof EmbeddedMemory embeddedMemory
+                ? embeddedMemory.forModel(model)
+                : chatMemory;
+        MessageChatMemoryAdvisor advisor = MessageChatMemoryAdvisor
+                .builder(modelMemory)
+                .build();
+
+        return ChatClient.builder(chatModel)
+                .defaultAdvisors(advisor)
+                .defaultToolCallbacks(toolCallbacks)
+                .build();
+    }
+
+    private static OpenAiApi buildOpenAiApi(String apiKey, String baseUrl) {
+        log.info("Initializing OpenAiApi with base URL: {}", baseUrl);
+        return OpenAiApi.builder()
+                .baseUrl(baseUrl)
+                .apiKey(() -> apiKey)
+                .webClientBuilder(WebClient.builder()
+                        // Force HTTP/1.1 for streaming requests
+                        .clientConnector(new JdkClientHttpConnector(HttpClient.newBuilder()
+                                .version(HttpClient.Version.HTTP_1_1)
+                                .connectTimeout(Duration.ofSeconds(90))
+                                .build())))
+                .restClientBuilder(RestClient.builder()
+                        // Force HTTP/1.1 for non-streaming requests
+                        .requestFactory(new JdkClientHttpRequestFactory(
+                                HttpClient.newBuilder()
+                                        .version(HttpClient.Version.HTTP_1_1)
+                                        .connectTimeout(Duration.ofSeconds(90))
+                                        .build()
+                        )))
+                .build();
+    }
+}
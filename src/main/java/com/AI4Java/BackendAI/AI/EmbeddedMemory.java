@@ -1,45 +1,57 @@
 package com.AI4Java.BackendAI.AI;
 
+import com.AI4Java.BackendAI.config.MemoryProperties;
 import com.AI4Java.BackendAI.entries.MessageEntries;
 import com.AI4Java.BackendAI.entries.SessionEntries;
-import com.AI4Java.BackendAI.services.SessionServices;
+import com.AI4Java.BackendAI.repository.MessageRepo;
 import org.bson.types.ObjectId;
 import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.MessageType;
 import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.springframework.beans.factory.annotation.Qualifier;
 
 @Component
 @Qualifier("embeddedMemory")
 public class EmbeddedMemory implements ChatMemory {
-    private final SessionServices sessionServices;
+    private final MongoTemplate mongoTemplate;
+    private final MessageRepo messageRepo;
+    private final MemoryProperties memoryProperties;
     private final int maxMessages;
 
-    public EmbeddedMemory(SessionServices sessionServices) {
-        this.sessionServices = sessionServices;
-        this.maxMessages = 8192;
+    public EmbeddedMemory(MongoTemplate mongoTemplate, MessageRepo messageRepo, MemoryProperties memoryProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.messageRepo = messageRepo;
+        this.memoryProperties = memoryProperties;
+        this.maxMessages = memoryProperties.getMaxStoredMessages();
+    }
+
+    /**
+     * View of this memory whose reads use the window and token budget configured for the given model.
+     */
+    public ChatMemory forModel(String model) {
+        return new ModelWindowedMemory(memoryProperties.windowFor(model), memoryProperties.tokenBudgetFor(model));
     }
 
     @Override
     public void add(@NonNull String conversationId, Message message) {
-        ObjectId sessionId = new ObjectId(conversationId);
-        SessionEntries tempSession = sessionServices.checkIfExists(sessionId);
-
-        String role = (message.getMessageType() == MessageType.USER) ? "user" : "assistant";
-        MessageEntries newEntry = new MessageEntries(role, message.getText(), LocalDateTime.now());
-
-        tempSession.getMessages().add(newEntry);
-        sessionServices.simpleSave(tempSession); // Persists to DB
+        add(conversationId, List.of(message));
     }
 
     @Override
@@ -47,36 +59,56 @@ public class EmbeddedMemory implements ChatMemory {
         if (messages.isEmpty()) return;
 
         ObjectId sessionId = new ObjectId(conversationId);
-        SessionEntries tempSession = sessionServices.checkIfExists(sessionId);
+        int count = messages.size();
 
-        List<MessageEntries> newEntries = messages.stream()
-                .map(msg -> {
+        // Atomically reserve a block of seq numbers on the session
+        SessionEntries counters = reserveSeq(sessionId, count);
+        long firstSeq = counters.getMessageSeq() - count + 1;
+
+        List<MessageEntries> newEntries = IntStream.range(0, count)
+                .mapToObj(i -> {
+                    Message msg = messages.get(i);
                     String role = (msg.getMessageType() == MessageType.USER) ? "user" : "assistant";
-                    return new MessageEntries(role, msg.getText(), LocalDateTime.now());
+                    return new MessageEntries(sessionId, firstSeq + i, role, msg.getText(), LocalDateTime.now());
                 })
                 .toList();
-
-        tempSession.getMessages().addAll(newEntries);
-        sessionServices.simpleSave(tempSession);
+        messageRepo.insert(newEntries);
+
+        // Keep only the newest maxMessages per session
+        if (counters.getMessageCount() > maxMessages) {
+            long removed = messageRepo.deleteBySessionIdAndSeqLessThanEqual(sessionId, counters.getMessageSeq() - maxMessages);
+            if (removed > 0) {
+                mongoTemplate.updateFirst(byId(sessionId), new Update().inc("messageCount", -removed), SessionEntries.class);
+            }
+        }
     }
 
     @Override
     @NonNull
     public List<Message> get(@NonNull String conversationId) {
+        return get(conversationId, memoryProperties.getDefaultWindow(), memoryProperties.getDefaultTokenBudget());
+    }
+
+    /**
+     * Reads only the last {@code window} messages from the messages collection. When
+     * {@code tokenBudget} is positive, walks back from the newest message and stops once
+     * the estimated token count would exceed it.
+     */
+    public List<Message> get(String conversationId, int window, int tokenBudget) {
         ObjectId sessionId = new ObjectId(conversationId);
-        SessionEntries tempSession = sessionServices.checkIfExists(sessionId);
 
-        List<MessageEntries> embeddedMessages = tempSession.getMessages();
-        if (embeddedMessages.isEmpty()) return new ArrayList<>();
+        // Newest-first via the (sessionId, seq) index, then back to chronological order
+        List<MessageEntries> windowedMessages = new ArrayList<>(messageRepo.findBySessionIdOrderBySeqDesc(
+                sessionId, PageRequest.of(0, Math.max(1, Math.min(window, maxMessages)))));
+        if (windowedMessages.isEmpty()) return new ArrayList<>();
+        Collections.reverse(windowedMessages);
 
-        // Sort by timestamp and limit to maxMessages
-        List<MessageEntries> limitedMessages = embeddedMessages.stream()
-                .sorted(Comparator.comparing(MessageEntries::getTimestamp))
-                .skip(Math.max(0, embeddedMessages.size() - maxMessages))
-                .toList();
+        if (tokenBudget > 0) {
+            windowedMessages = trimToTokenBudget(windowedMessages, tokenBudget);
+        }
 
         // Map to Spring AI Message
-        return limitedMessages.stream()
+        return windowedMessages.stream()
                 .map(entry -> {
                     if (entry.getRole().equals("user")) {
                         return new UserMessage(entry.getContent());
@@ -85,15 +117,77 @@ public class EmbeddedMemory implements ChatMemory {
                     }
                 })
                 .collect(Collectors.toList());
-
     }
 
     @Override
     public void clear(@NonNull String conversationId) {
         ObjectId sessionId = new ObjectId(conversationId);
-        SessionEntries tempSession = sessionServices.checkIfExists(sessionId);
+        messageRepo.deleteBySessionId(sessionId);
+        // messageSeq is left as is so seq values stay unique per session
+        mongoTemplate.updateFirst(byId(sessionId), new Update().set("messageCount", 0L), SessionEntries.class);
+    }
+
+    private SessionEntries reserveSeq(ObjectId sessionId, int count) {
+        Query query = byId(sessionId);
+        query.fields().include("messageSeq", "messageCount");
+        SessionEntries counters = mongoTemplate.findAndModify(query,
+                new Update().inc("messageSeq", count).inc("messageCount", count),
+                FindAndModifyOptions.options().returnNew(true),
+                SessionEntries.class);
+        if (counters == null) {
+            throw new RuntimeException("Session not found with ID: " + sessionId);
+        }
+        return counters;
+    }
+
+    private static Query byId(ObjectId sessionId) {
+        return new Query(Criteria.where("_id").is(sessionId));
+    }
+
+    private static List<MessageEntries> trimToTokenBudget(List<MessageEntries> messages, int tokenBudget) {
+        List<MessageEntries> kept = new ArrayList<>();
+        int usedTokens = 0;
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            MessageEntries entry = messages.get(i);
+            int tokens = estimateTokens(entry.getContent());
+            // Always keep the newest message, even if it alone exceeds the budget
+            if (!kept.isEmpty() && usedTokens + tokens > tokenBudget) break;
+            kept.add(entry);
+            usedTokens += tokens;
+        }
+        Collections.reverse(kept);
+        return kept;
+    }
+
+    // Rough estimate (~4 chars per token) plus per-message overhead for role/formatting
+    static int estimateTokens(String content) {
+        int chars = content == null ? 0 : content.length();
+        return (chars + 3) / 4 + 4;
+    }
 
-        tempSession.getMessages().clear();
-        sessionServices.simpleSave(tempSession);
+    private class ModelWindowedMemory implements ChatMemory {
+        private final int window;
+        private final int tokenBudget;
+
+        private ModelWindowedMemory(int window, int tokenBudget) {
+            this.window = window;
+            this.tokenBudget = tokenBudget;
+        }
+
+        @Override
+        public void add(@NonNull String conversationId, List<Message> messages) {
+            EmbeddedMemory.this.add(conversationId, messages);
+        }
+
+        @Override
+        @NonNull
+        public List<Message> get(@NonNull String conversationId) {
+            return EmbeddedMemory.this.get(conversationId, window, tokenBudget);
+        }
+
+        @Override
+        public void clear(@NonNull String conversationId) {
+            EmbeddedMemory.this.clear(conversationId);
+        }
     }
 }
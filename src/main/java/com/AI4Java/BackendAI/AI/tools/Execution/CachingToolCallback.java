@@ -0,0 +1,54 @@
+package com.AI4Java.BackendAI.AI.tools.Execution;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import java.util.List;
+
+/**
+ * Tool callback that answers repeated calls from {@link ToolResultCache}. Wraps the guarded
+ * callback, so a hit takes neither a tool thread nor a bulkhead slot.
+ */
+public class CachingToolCallback implements ToolCallback {
+
+    private final ToolCallback delegate;
+    private final ToolResultCache toolResultCache;
+
+    public CachingToolCallback(ToolCallback delegate, ToolResultCache toolResultCache) {
+        this.delegate = delegate;
+        this.toolResultCache = toolResultCache;
+    }
+
+    /**
+     * Wraps the callbacks of cached tools only; the rest are returned as they are.
+     */
+    public static List<ToolCallback> cacheAll(ToolResultCache toolResultCache, List<ToolCallback> callbacks) {
+        return callbacks.stream()
+                .map(callback -> toolResultCache.isCached(callback.getToolDefinition().name())
+                        ? new CachingToolCallback(callback, toolResultCache)
+                        : callback)
+                .toList();
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return toolResultCache.get(getToolDefinition().name(), toolInput, () -> delegate.call(toolInput));
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        return toolResultCache.get(getToolDefinition().name(), toolInput, () -> delegate.call(toolInput, toolContext));
+    }
+}
@@ -0,0 +1,50 @@
+package com.AI4Java.BackendAI.AI.tools.Execution;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tool callback that runs its delegate through {@link ToolExecutor}, so the tool gets its
+ * bulkhead and timeout and never runs on the caller's thread.
+ */
+public class GuardedToolCallback implements ToolCallback {
+
+    private final ToolCallback delegate;
+    private final ToolExecutor toolExecutor;
+
+    public GuardedToolCallback(ToolCallback delegate, ToolExecutor toolExecutor) {
+        this.delegate = delegate;
+        this.toolExecutor = toolExecutor;
+    }
+
+    public static List<ToolCallback> guardAll(ToolExecutor toolExecutor, ToolCallback... callbacks) {
+        return Arrays.stream(callbacks)
+                .<ToolCallback>map(callback -> new GuardedToolCallback(callback, toolExecutor))
+                .toList();
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return toolExecutor.execute(getToolDefinition().name(), () -> delegate.call(toolInput));
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        return toolExecutor.execute(getToolDefinition().name(), () -> delegate.call(toolInput, toolContext));
+    }
+}
@@ -0,0 +1,166 @@
+package com.AI4Java.BackendAI.AI.tools.Execution;
+
+import com.AI4Java.BackendAI.config.ToolExecutionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.execution.ToolExecutionExceptionProcessor;
+import org.springframework.ai.tool.resolution.ToolCallbackResolver;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Tool calling manager that runs all tool calls of one assistant turn at once instead of one
+ * after another. Each call goes through Spring AI's default manager on its own virtual thread,
+ * so tool resolution, observations and exception handling are unchanged. Responses keep the
+ * model's order. A call that throws or is still running at {@code tools.execution.turn-deadline}
+ * gets an error result, and the other results are still returned to the model.
+ */
+@Component
+public class ParallelToolCallingManager implements ToolCallingManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelToolCallingManager.class);
+
+    private final ToolCallingManager delegate;
+    private final ToolExecutionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("tool-turn-", 0).factory());
+
+    @Autowired
+    public ParallelToolCallingManager(ToolExecutionProperties properties,
+                                      MeterRegistry meterRegistry,
+                                      ObjectProvider<ObservationRegistry> observationRegistry,
+                                      ObjectProvider<ToolCallbackResolver> toolCallbackResolver,
+                                      ObjectProvider<ToolExecutionExceptionProcessor> exceptionProcessor) {
+        this(buildDelegate(observationRegistry, toolCallbackResolver, exceptionProcessor), properties, meterRegistry);
+    }
+
+    public ParallelToolCallingManager(ToolCallingManager delegate, ToolExecutionProperties properties,
+                                      MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<ToolDefinition> resolveToolDefinitions(ToolCallingChatOptions chatOptions) {
+        return delegate.resolveToolDefinitions(chatOptions);
+    }
+
+    @Override
+    public ToolExecutionResult executeToolCalls(Prompt prompt, ChatResponse chatResponse) {
+        AssistantMessage assistantMessage = chatResponse.getResults().stream()
+                .map(Generation::getOutput)
+                .filter(message -> !CollectionUtils.isEmpty(message.getToolCalls()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No tool call requested by the chat model"));
+
+        List<AssistantMessage.ToolCall> toolCalls = assistantMessage.getToolCalls();
+        if (toolCalls.size() == 1) {
+            return delegate.executeToolCalls(prompt, chatResponse);
+        }
+
+        long startNanos = System.nanoTime();
+        Duration deadline = properties.getTurnDeadline();
+        List<Future<ToolExecutionResult>> futures = new ArrayList<>(toolCalls.size());
+        for (AssistantMessage.ToolCall toolCall : toolCalls) {
+            // Same turn with only this call, so the delegate runs exactly one tool
+            ChatResponse single = new ChatResponse(List.of(new Generation(new AssistantMessage(
+                    assistantMessage.getText(), assistantMessage.getMetadata(), List.of(toolCall)))));
+            futures.add(executor.submit(() -> delegate.executeToolCalls(prompt, single)));
+        }
+
+        List<ToolResponseMessage.ToolResponse> responses = new ArrayList<>(toolCalls.size());
+        boolean returnDirect = true;
+        boolean partial = false;
+        long deadlineNanos = startNanos + deadline.toNanos();
+        for (int i = 0; i < toolCalls.size(); i++) {
+            AssistantMessage.ToolCall toolCall = toolCalls.get(i);
+            Future<ToolExecutionResult> future = futures.get(i);
+            try {
+                ToolExecutionResult result = future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+                responses.add(toolResponseOf(result, toolCall));
+                returnDirect &= result.returnDirect();
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                partial = true;
+                returnDirect = false;
+                logger.warn("Tool {} still running at the {} turn deadline", toolCall.name(), deadline);
+                responses.add(new ToolResponseMessage.ToolResponse(toolCall.id(), toolCall.name(),
+                        "❌ Tool " + toolCall.name() + " did not finish within " + deadline.toSeconds() + " seconds."));
+            } catch (InterruptedException e) {
+                futures.forEach(pending -> pending.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while running tool calls", e);
+            } catch (ExecutionException e) {
+                partial = true;
+                returnDirect = false;
+                Throwable cause = e.getCause();
+                logger.warn("Tool {} failed: {}", toolCall.name(), cause.getMessage());
+                responses.add(new ToolResponseMessage.ToolResponse(toolCall.id(), toolCall.name(),
+                        "❌ Tool " + toolCall.name() + " failed: " + cause.getMessage()));
+            }
+        }
+
+        Timer.builder("tool.turn")
+                .tag("outcome", partial ? "partial" : "complete")
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        logger.debug("Ran {} tool calls in parallel in {} ms", toolCalls.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+
+        List<Message> conversationHistory = new ArrayList<>(prompt.getInstructions());
+        conversationHistory.add(assistantMessage);
+        conversationHistory.add(new ToolResponseMessage(responses));
+        return ToolExecutionResult.builder()
+                .conversationHistory(conversationHistory)
+                .returnDirect(returnDirect)
+                .build();
+    }
+
+    private static ToolResponseMessage.ToolResponse toolResponseOf(ToolExecutionResult result,
+                                                                   AssistantMessage.ToolCall toolCall) {
+        List<Message> history = result.conversationHistory();
+        if (!history.isEmpty() && history.get(history.size() - 1) instanceof ToolResponseMessage toolResponseMessage
+                && !toolResponseMessage.getResponses().isEmpty()) {
+            return toolResponseMessage.getResponses().get(0);
+        }
+        return new ToolResponseMessage.ToolResponse(toolCall.id(), toolCall.name(), "");
+    }
+
+    private static ToolCallingManager buildDelegate(ObjectProvider<ObservationRegistry> observationRegistry,
+                                                    ObjectProvider<ToolCallbackResolver> toolCallbackResolver,
+                                                    ObjectProvider<ToolExecutionExceptionProcessor> exceptionProcessor) {
+        var builder = ToolCallingManager.builder()
+                .observationRegistry(observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP));
+        toolCallbackResolver.ifUnique(builder::toolCallbackResolver);
+        exceptionProcessor.ifUnique(builder::toolExecutionExceptionProcessor);
+        return builder.build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
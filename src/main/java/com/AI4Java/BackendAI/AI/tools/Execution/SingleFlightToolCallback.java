@@ -0,0 +1,55 @@
+package com.AI4Java.BackendAI.AI.tools.Execution;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import java.util.List;
+
+/**
+ * Tool callback that lets identical concurrent calls share one upstream call through
+ * {@link ToolCallCoalescer}. Sits between the result cache and the guarded callback, so only
+ * cache misses are coalesced and followers never take a tool thread.
+ */
+public class SingleFlightToolCallback implements ToolCallback {
+
+    private final ToolCallback delegate;
+    private final ToolCallCoalescer coalescer;
+
+    public SingleFlightToolCallback(ToolCallback delegate, ToolCallCoalescer coalescer) {
+        this.delegate = delegate;
+        this.coalescer = coalescer;
+    }
+
+    /**
+     * Wraps the callbacks of coalesced tools only; the rest are returned as they are.
+     */
+    public static List<ToolCallback> coalesceAll(ToolCallCoalescer coalescer, List<ToolCallback> callbacks) {
+        return callbacks.stream()
+                .map(callback -> coalescer.isCoalesced(callback.getToolDefinition().name())
+                        ? new SingleFlightToolCallback(callback, coalescer)
+                        : callback)
+                .toList();
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return coalescer.execute(getToolDefinition().name(), toolInput, () -> delegate.call(toolInput));
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        return coalescer.execute(getToolDefinition().name(), toolInput, () -> delegate.call(toolInput, toolContext));
+    }
+}
@@ -0,0 +1,113 @@
+package com.AI4Java.BackendAI.AI.tools.Execution;
+
+import com.AI4Java.BackendAI.config.ToolCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Single flight for tool calls: while a call is running, identical calls (same tool, same
+ * canonical arguments, see {@link ToolCallKeys}) wait for it and share its result or exception
+ * instead of hitting the upstream API again. Applies to the tools on the result cache allowlist,
+ * which are the ones known to be read-only; nothing is kept once the call finishes.
+ */
+@Component
+public class ToolCallCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ToolCallCoalescer.class);
+
+    private final ToolCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    public ToolCallCoalescer(ToolCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("tool.singleflight.inflight", inFlight, Map::size).register(meterRegistry);
+    }
+
+    public boolean isCoalesced(String toolName) {
+        return properties.singleFlightFor(toolName);
+    }
+
+    /**
+     * Runs {@code call}, or waits for an identical call that is already running and returns its
+     * result. Tools that are not coalesced are passed straight through. A leader whose own turn
+     * is cancelled shares nothing; its followers retry, one of them as the new leader.
+     */
+    public String execute(String toolName, String toolInput, Supplier<String> call) {
+        if (!isCoalesced(toolName)) return call.get();
+
+        String key = ToolCallKeys.of(toolName, toolInput);
+        while (true) {
+            CompletableFuture<String> leader = new CompletableFuture<>();
+            CompletableFuture<String> running = inFlight.putIfAbsent(key, leader);
+            if (running == null) {
+                return lead(toolName, key, leader, call);
+            }
+
+            count(toolName, "follower");
+            logger.debug("Joining in-flight call of {}", toolName);
+            try {
+                return await(toolName, running);
+            } catch (CancellationException e) {
+                logger.debug("In-flight call of {} was cancelled, retrying", toolName);
+            }
+        }
+    }
+
+    private String lead(String toolName, String key, CompletableFuture<String> leader, Supplier<String> call) {
+        count(toolName, "leader");
+        try {
+            String result = call.get();
+            settle(key, leader, () -> leader.complete(result));
+            return result;
+        } catch (RuntimeException | Error e) {
+            settle(key, leader, () -> leader.completeExceptionally(e));
+            throw e;
+        }
+    }
+
+    private void settle(String key, CompletableFuture<String> leader, Runnable share) {
+        inFlight.remove(key, leader);
+        // An interrupted leader only has its own cancellation to report, so followers must not get it
+        if (Thread.currentThread().isInterrupted()) {
+            leader.cancel(false);
+        } else {
+            share.run();
+        }
+    }
+
+    private static String await(String toolName, CompletableFuture<String> running) {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "❌ Tool " + toolName + " was interrupted.";
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+            if (cause instanceof Error error) throw error;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void count(String toolName, String role) {
+        Counter.builder("tool.singleflight.calls")
+                .description("Calls that went upstream (leader) or shared an in-flight call (follower)")
+                .tag("tool", toolName)
+                .tag("role", role)
+                .register(meterRegistry)
+                .increment();
+    }
+}
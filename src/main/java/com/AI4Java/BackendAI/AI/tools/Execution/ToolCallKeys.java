@@ -0,0 +1,61 @@
+package com.AI4Java.BackendAI.AI.tools.Execution;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Identity of a tool call: tool name plus canonical JSON arguments, with object keys sorted,
+ * null arguments dropped and strings trimmed. Input that is not JSON is only trimmed.
+ */
+final class ToolCallKeys {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ToolCallKeys() {
+    }
+
+    static String of(String toolName, String toolInput) {
+        String arguments = toolInput == null ? "" : toolInput.trim();
+        try {
+            arguments = objectMapper.writeValueAsString(canonical(objectMapper.readTree(arguments)));
+        } catch (JsonProcessingException e) {
+            // Not JSON, keep it verbatim
+        }
+        return toolName + ':' + arguments;
+    }
+
+    private static JsonNode canonical(JsonNode node) {
+        if (node == null) return JsonNodeFactory.instance.nullNode();
+        if (node.isObject()) {
+            Map<String, JsonNode> sorted = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (!field.getValue().isNull()) {
+                    sorted.put(field.getKey(), canonical(field.getValue()));
+                }
+            }
+            ObjectNode object = JsonNodeFactory.instance.objectNode();
+            object.setAll(sorted);
+            return object;
+        }
+        if (node.isArray()) {
+            ArrayNode array = JsonNodeFactory.instance.arrayNode();
+            node.forEach(element -> array.add(canonical(element)));
+            return array;
+        }
+        if (node.isTextual()) {
+            return TextNode.valueOf(node.asText().trim());
+        }
+        return node;
+    }
+}
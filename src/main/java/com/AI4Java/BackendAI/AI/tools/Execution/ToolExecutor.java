@@ -0,0 +1,185 @@
+package com.AI4Java.BackendAI.AI.tools.Execution;
+
+import com.AI4Java.BackendAI.config.ToolExecutionProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs tool calls on a dedicated bounded pool so each call can be given a timeout and a
+ * bulkhead. The caller still blocks until the result, timeout or rejection, so a running call
+ * holds both its tool thread and the caller's thread. With
+ * {@code tools.execution.virtual-threads} every call gets its own virtual thread instead, and
+ * at most {@code pool-size + queue-capacity} calls are admitted at once. Each
+ * tool has its own bulkhead (calls of that tool in flight) and timeout; a call that times out
+ * returns an error result to the model while its thread is interrupted, and keeps its bulkhead
+ * slot until it actually stops, so a hanging API only starves itself.
+ */
+@Component
+public class ToolExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ToolExecutor.class);
+
+    private final ToolExecutionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+    // Only set for virtual threads, which have no pool to bound them
+    private final Semaphore admission;
+    private final Map<String, Semaphore> bulkheads = new ConcurrentHashMap<>();
+    private final AtomicInteger active = new AtomicInteger();
+
+    public ToolExecutor(ToolExecutionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        if (properties.isVirtualThreads()) {
+            this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("tool-exec-v-", 0).factory());
+            this.admission = new Semaphore(properties.getPoolSize() + properties.getQueueCapacity());
+        } else {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(properties.getPoolSize(), properties.getPoolSize(),
+                    60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                    new CustomizableThreadFactory("tool-exec-"), new ThreadPoolExecutor.AbortPolicy());
+            pool.allowCoreThreadTimeOut(true);
+            Gauge.builder("tool.execution.queued", pool, p -> p.getQueue().size()).register(meterRegistry);
+            this.executor = pool;
+            this.admission = null;
+        }
+        Gauge.builder("tool.execution.active", active, AtomicInteger::get).register(meterRegistry);
+        logger.info("Tool executor using {} threads", properties.isVirtualThreads() ? "virtual" : "platform");
+    }
+
+    /**
+     * Runs one tool call and waits for its result, its timeout or rejection. Exceptions thrown
+     * by the tool are rethrown unchanged, so Spring AI's tool error handling still applies.
+     */
+    public String execute(String toolName, Supplier<String> call) {
+        long startNanos = System.nanoTime();
+        Semaphore bulkhead = bulkheads.computeIfAbsent(toolName,
+                name -> new Semaphore(properties.maxConcurrentFor(name)));
+
+        try {
+            if (!bulkhead.tryAcquire(properties.getBulkheadWait().toMillis(), TimeUnit.MILLISECONDS)) {
+                record(toolName, "rejected", startNanos);
+                logger.warn("Tool {} rejected: {} calls already running", toolName, properties.maxConcurrentFor(toolName));
+                return "⏳ Tool " + toolName + " is busy with other requests. Please try again in a few moments.";
+            }
+        } catch (InterruptedException e) {
+            record(toolName, "interrupted", startNanos);
+            Thread.currentThread().interrupt();
+            return "❌ Tool " + toolName + " was interrupted.";
+        }
+
+        Permits permits = new Permits(bulkhead);
+        Future<String> future;
+        try {
+            future = submit(call, permits);
+        } catch (RejectedExecutionException e) {
+            record(toolName, "rejected", startNanos);
+            logger.warn("Tool {} rejected: tool pool saturated", toolName);
+            return "⏳ Too many tools are running right now. Please try again in a few moments.";
+        }
+
+        Duration timeout = properties.timeoutFor(toolName);
+        try {
+            String result = future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            record(toolName, "success", startNanos);
+            return result;
+        } catch (TimeoutException e) {
+            cancel(future, permits);
+            record(toolName, "timeout", startNanos);
+            logger.warn("Tool {} timed out after {}", toolName, timeout);
+            return "❌ Tool " + toolName + " did not respond within " + timeout.toSeconds() + " seconds.";
+        } catch (InterruptedException e) {
+            cancel(future, permits);
+            record(toolName, "interrupted", startNanos);
+            Thread.currentThread().interrupt();
+            return "❌ Tool " + toolName + " was interrupted.";
+        } catch (ExecutionException e) {
+            record(toolName, "error", startNanos);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+            if (cause instanceof Error error) throw error;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private Future<String> submit(Supplier<String> call, Permits permits) {
+        if (admission != null) {
+            if (!admission.tryAcquire()) {
+                permits.release();
+                throw new RejectedExecutionException("Tool call limit reached");
+            }
+            permits.admission = admission;
+        }
+        try {
+            return executor.submit(() -> {
+                permits.started.set(true);
+                active.incrementAndGet();
+                try {
+                    return call.get();
+                } finally {
+                    active.decrementAndGet();
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private static void cancel(Future<String> future, Permits permits) {
+        // A call cancelled while still queued never runs, so its finally block can't release the permits
+        if (future.cancel(true) && !permits.started.get()) {
+            permits.release();
+        }
+    }
+
+    private void record(String toolName, String outcome, long startNanos) {
+        Timer.builder("tool.execution")
+                .tag("tool", toolName)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Bulkhead and admission slots of one call, released exactly once: by the call itself when it
+     * stops, or by the caller when the call is cancelled before it started.
+     */
+    private static class Permits {
+        private final Semaphore bulkhead;
+        private Semaphore admission;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permits(Semaphore bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.release();
+                if (admission != null) admission.release();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        logger.info("Shutting down tool executor ({} active)", active.get());
+        executor.shutdownNow();
+    }
+}
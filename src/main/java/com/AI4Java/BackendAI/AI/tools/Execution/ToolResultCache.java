@@ -0,0 +1,144 @@
+package com.AI4Java.BackendAI.AI.tools.Execution;
+
+import com.AI4Java.BackendAI.config.ToolCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Results of allowlisted tools, keyed by tool name plus canonical arguments
+ * ({@link ToolCallKeys}), so the same question asked with reordered or padded arguments is a
+ * hit. Each tool has its own TTL ({@code tools.cache.ttls}); memory is bounded by result size.
+ * Error ("❌"), busy ("⏳") and partial ("⚠️") results are never cached.
+ * The key ignores the tool context, so only tools whose result depends on the arguments alone
+ * belong on the allowlist.
+ */
+@Component
+public class ToolResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ToolResultCache.class);
+
+    private final ToolCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, CachedResult> cache;
+    private final Map<String, ToolStats> stats = new ConcurrentHashMap<>();
+
+    public ToolResultCache(ToolCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((String key, CachedResult entry) -> 2 * (key.length() + entry.result.length()))
+                .expireAfter(new Expiry<String, CachedResult>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResult entry, long currentTime) {
+                        return entry.ttl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResult entry, long currentTime, long currentDuration) {
+                        return entry.ttl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResult entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "toolResults");
+    }
+
+    public boolean isCached(String toolName) {
+        return properties.ttlFor(toolName) != null;
+    }
+
+    /**
+     * Cached result of the call, or the result of {@code call} stored for the tool's TTL.
+     * Tools that are not on the allowlist are passed straight through.
+     */
+    public String get(String toolName, String toolInput, Supplier<String> call) {
+        Duration ttl = properties.ttlFor(toolName);
+        if (ttl == null) return call.get();
+
+        String key = ToolCallKeys.of(toolName, toolInput);
+        ToolStats toolStats = statsFor(toolName);
+        CachedResult cached = cache.getIfPresent(key);
+        if (cached != null) {
+            toolStats.hits.incrementAndGet();
+            logger.debug("Tool result cache hit for {}", toolName);
+            return cached.result;
+        }
+
+        toolStats.misses.incrementAndGet();
+        String result = call.get();
+        if (isCacheable(result)) {
+            cache.put(key, new CachedResult(result, ttl));
+        } else {
+            toolStats.skipped.increment();
+        }
+        return result;
+    }
+
+    private boolean isCacheable(String result) {
+        return result != null
+                && !result.isBlank()
+                && result.length() <= properties.getMaxResultChars()
+                && !result.startsWith("❌")
+                && !result.startsWith("⏳")
+                && !result.startsWith("⚠️");
+    }
+
+    private ToolStats statsFor(String toolName) {
+        return stats.computeIfAbsent(toolName, name -> new ToolStats(name, meterRegistry));
+    }
+
+    private static class CachedResult {
+        private final String result;
+        private final Duration ttl;
+
+        CachedResult(String result, Duration ttl) {
+            this.result = result;
+            this.ttl = ttl;
+        }
+    }
+
+    private static class ToolStats {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final Counter skipped;
+
+        ToolStats(String toolName, MeterRegistry meterRegistry) {
+            FunctionCounter.builder("tool.cache.requests", hits, AtomicLong::get)
+                    .tag("tool", toolName).tag("result", "hit").register(meterRegistry);
+            FunctionCounter.builder("tool.cache.requests", misses, AtomicLong::get)
+                    .tag("tool", toolName).tag("result", "miss").register(meterRegistry);
+            Gauge.builder("tool.cache.hit.ratio", this, ToolStats::hitRatio)
+                    .tag("tool", toolName).register(meterRegistry);
+            this.skipped = Counter.builder("tool.cache.skipped")
+                    .description("Results not cached because they were errors, partial or too large")
+                    .tag("tool", toolName).register(meterRegistry);
+        }
+
+        double hitRatio() {
+            long hitCount = hits.get();
+            long total = hitCount + misses.get();
+            return total == 0 ? 0.0 : (double) hitCount / total;
+        }
+    }
+}
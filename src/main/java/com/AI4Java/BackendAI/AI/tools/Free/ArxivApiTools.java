@@ -1,11 +1,13 @@
 package com.AI4Java.BackendAI.AI.tools.Free;
 
+import com.AI4Java.BackendAI.AI.tools.Http.ToolWebClients;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -41,6 +43,8 @@ public class ArxivApiTools {
     private static final int SUMMARY_TRUNCATE_LENGTH = 1795;
     private static final String PDF_CONTENT_TYPE = "application/pdf";
 
+    @Autowired
+    private ToolWebClients toolWebClients;
     private WebClient webClient;
     private DocumentBuilderFactory documentBuilderFactory;
 
@@ -60,7 +64,7 @@ public class ArxivApiTools {
     }
 
     private WebClient createWebClient() {
-        return WebClient.builder()
+        return toolWebClients.builder()
                 .defaultHeader("User-Agent", "AI4Java-ArxivTool/1.0")
                 .defaultHeader("Accept", "application/atom+xml")
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(MAX_MEMORY_SIZE))
@@ -1,14 +1,18 @@
 package com.AI4Java.BackendAI.AI.tools.Free;
 
+import com.AI4Java.BackendAI.AI.tools.Http.ToolWebClients;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
@@ -17,7 +21,6 @@ import reactor.util.retry.Retry;
 
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -31,8 +34,7 @@ public class CodeforcesProblemSetTools {
     private static final String PROBLEMSET_ENDPOINT = "/problemset.problems";
     private static final String PROBLEM_BASE_URL = "https://codeforces.com/contest";
 
-    // Rate limiting and timeouts
-    private static final Duration CODEFORCES_RATE_LIMIT = Duration.ofSeconds(3);
+    // Timeouts (request rate to codeforces.com is limited by tools.http.host-rates)
     private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
     private static final int MAX_RETRY_ATTEMPTS = 3;
 
@@ -42,6 +44,7 @@ public class CodeforcesProblemSetTools {
 
     // Cache settings
     private static final Duration CACHE_DURATION = Duration.ofMinutes(10);
+    private static final int MAX_CACHED_RESPONSES = 16;
 
     /**
      * Official Codeforces problem tags (case-insensitive matching)
@@ -56,17 +59,21 @@ public class CodeforcesProblemSetTools {
             "string suffix structures", "strings", "ternary search", "trees", "two pointers"
     );
 
+    @Autowired
+    private ToolWebClients toolWebClients;
     private WebClient webClient;
     private ObjectMapper objectMapper;
-    private Map<String, CachedApiResponse> responseCache;
-    private volatile long lastRequestTime = 0;
+    private Cache<String, JsonNode> responseCache;
 
     @PostConstruct
     public void initialize() {
         logger.info("Initializing Codeforces Tools service");
         this.webClient = createWebClient();
         this.objectMapper = new ObjectMapper();
-        this.responseCache = new ConcurrentHashMap<>();
+        this.responseCache = Caffeine.newBuilder()
+                .maximumSize(MAX_CACHED_RESPONSES)
+                .expireAfterWrite(CACHE_DURATION)
+                .build();
         logger.info("Codeforces Tools service initialized successfully");
     }
 
@@ -77,7 +84,7 @@ public class CodeforcesProblemSetTools {
 
 
     private WebClient createWebClient() {
-        return WebClient.builder()
+        return toolWebClients.builder()
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(MAX_MEMORY_SIZE))
                 .defaultHeader("User-Agent", "AI4Java-CodeforcesTool/1.0")
                 .defaultHeader("Accept", "application/json")
@@ -217,7 +224,7 @@ public class CodeforcesProblemSetTools {
         return ProblemIdentifier.valid(contestId.trim(), index.trim().toUpperCase());
     }
 
-    private List<CodeforceProblem> searchProblems(SearchCriteria criteria) throws CodeforceApiException, InterruptedException, JsonProcessingException {
+    private List<CodeforceProblem> searchProblems(SearchCriteria criteria) throws CodeforceApiException, JsonProcessingException {
         String apiUrl = buildApiUrl(criteria.getTags());
         JsonNode apiResponse = fetchApiResponse(apiUrl);
 
@@ -236,7 +243,7 @@ public class CodeforcesProblemSetTools {
                 .collect(Collectors.toList());
     }
 
-    private Optional<CodeforceProblem> findSpecificProblem(ProblemIdentifier problemId) throws CodeforceApiException, InterruptedException, JsonProcessingException {
+    private Optional<CodeforceProblem> findSpecificProblem(ProblemIdentifier problemId) throws CodeforceApiException, JsonProcessingException {
         String apiUrl = CODEFORCES_API_BASE + PROBLEMSET_ENDPOINT;
         JsonNode apiResponse = fetchApiResponse(apiUrl);
 
@@ -252,16 +259,13 @@ public class CodeforcesProblemSetTools {
                 .map(this::parseCodeforceProblem);
     }
 
-    private JsonNode fetchApiResponse(String url) throws CodeforceApiException, InterruptedException, JsonProcessingException {
+    private JsonNode fetchApiResponse(String url) throws CodeforceApiException, JsonProcessingException {
         try {
-            // Simple rate limiting
-            enforceRateLimit();
-
             // Check cache first
-            CachedApiResponse cached = responseCache.get(url);
-            if (cached != null && !cached.isExpired()) {
+            JsonNode cached = responseCache.getIfPresent(url);
+            if (cached != null) {
                 logger.debug("Using cached response for URL: {}", url);
-                return cached.getResponse();
+                return cached;
             }
 
             logger.debug("Fetching from Codeforces API: {}", url);
@@ -287,7 +291,7 @@ public class CodeforcesProblemSetTools {
             }
 
             // Cache the response
-            responseCache.put(url, new CachedApiResponse(jsonResponse));
+            responseCache.put(url, jsonResponse);
 
             return jsonResponse;
 
@@ -301,19 +305,6 @@ public class CodeforcesProblemSetTools {
         }
     }
 
-    private synchronized void enforceRateLimit() throws InterruptedException {
-        long currentTime = System.currentTimeMillis();
-        long timeSinceLastRequest = currentTime - lastRequestTime;
-
-        if (timeSinceLastRequest < CODEFORCES_RATE_LIMIT.toMillis()) {
-            long sleepTime = CODEFORCES_RATE_LIMIT.toMillis() - timeSinceLastRequest;
-            logger.debug("Rate limiting: sleeping for {} ms", sleepTime);
-            Thread.sleep(sleepTime);
-        }
-
-        lastRequestTime = System.currentTimeMillis();
-    }
-
     private String buildApiUrl(List<String> tags) {
         String baseUrl = CODEFORCES_API_BASE + PROBLEMSET_ENDPOINT;
 
@@ -512,24 +503,6 @@ public class CodeforcesProblemSetTools {
         }
     }
 
-    private static class CachedApiResponse {
-        private final JsonNode response;
-        private final long timestamp;
-
-        CachedApiResponse(JsonNode response) {
-            this.response = response;
-            this.timestamp = System.currentTimeMillis();
-        }
-
-        JsonNode getResponse() {
-            return response;
-        }
-
-        boolean isExpired() {
-            return System.currentTimeMillis() - timestamp > CACHE_DURATION.toMillis();
-        }
-    }
-
     private static class CodeforceApiException extends Exception {
         CodeforceApiException(String message) {
             super(message);
@@ -1,30 +1,48 @@
 package com.AI4Java.BackendAI.AI.tools.Free;
 
+import com.AI4Java.BackendAI.AI.tools.Http.ToolWebClients;
+import com.AI4Java.BackendAI.AI.tools.Scraping.ScrapeCache;
+import com.AI4Java.BackendAI.AI.tools.Scraping.ScrapedPage;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
 import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Base64;
+import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicLong;
 
 @Service
@@ -34,7 +52,7 @@ public class WebScraperTools {
 
     // HTTP Configuration
     private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(15);
-    private static final int MAX_MEMORY_SIZE = 8192 * 8192;
+    private static final int BODY_PREFETCH_BUFFERS = 4;
     private static final int MAX_RETRY_ATTEMPTS = 3;
     private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
 
@@ -66,14 +84,22 @@ public class WebScraperTools {
     private static final String ACCEPT_HEADER = "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8";
 
     // Instance variables
+    @Autowired
+    private ScrapeCache scrapeCache;
+
+    // Bytes read per page before the body is cut off; bounds heap per scrape however large the page is
+    @Value("${scrape.http.max-body-size:2MB}")
+    private DataSize maxBodySize;
+
+    @Autowired
+    private ToolWebClients toolWebClients;
     private WebClient webClient;
     private final AtomicLong scrapeCount = new AtomicLong(0);
 
     @PostConstruct
     public void initialize() {
         logger.info("Initializing Web Scraper Tools service");
-        webClient = WebClient.builder()
-                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(MAX_MEMORY_SIZE))
+        webClient = toolWebClients.builder()
                 .defaultHeader("User-Agent", USER_AGENT)
                 .defaultHeader("Accept", ACCEPT_HEADER)
                 .build();
@@ -90,6 +116,10 @@ public class WebScraperTools {
             description = "Scrapes and extracts content from any webpage URL using HTTP requests. " +
                     "Returns clean text content, title, and key metadata information.")
     public String scrape_webpage(@ToolParam(description = "Full http/https URL to scrape") String url) {
+        return scrapeWebpage(url, true);
+    }
+
+    private String scrapeWebpage(String url, boolean allowCached) {
         long scrapeId = scrapeCount.incrementAndGet();
         logger.debug("Starting webpage scrape #{} for URL: {}", scrapeId, url);
 
@@ -101,12 +131,30 @@ public class WebScraperTools {
         }
 
         try {
-            String html = fetchPageContent(validation.getCleanUrl(), scrapeId);
-            String result = parseWebpageContent(html, validation.getCleanUrl());
+            String cleanUrl = validation.getCleanUrl();
+            ScrapeCache.Lookup cached = allowCached ? scrapeCache.lookup(cleanUrl) : null;
+            if (cached != null && cached.isFresh()) {
+                logger.info("Webpage scrape #{} served from cache for domain: {}", scrapeId, extractDomain(cleanUrl));
+                return formatWebpageResult(cached.getPage());
+            }
+
+            // A stale entry still carries validators, so the origin can answer 304 instead of the full page
+            ScrapedPage stale = cached != null && cached.isHit() && cached.getPage().hasValidators()
+                    ? cached.getPage() : null;
+            ResponseEntity<Flux<DataBuffer>> response = fetchPage(cleanUrl, scrapeId, stale);
+
+            ScrapedPage page;
+            if (stale != null && response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                logger.debug("Scrape #{} revalidated, page unchanged", scrapeId);
+                page = scrapeCache.revalidated(cleanUrl, stale);
+            } else {
+                page = parseWebpageContent(response, cleanUrl, scrapeId);
+                scrapeCache.put(cleanUrl, page);
+            }
 
             logger.info("Webpage scrape #{} completed successfully for domain: {}",
-                    scrapeId, extractDomain(validation.getCleanUrl()));
-            return result;
+                    scrapeId, extractDomain(cleanUrl));
+            return formatWebpageResult(page);
 
         } catch (ScrapingException e) {
             logger.error("Webpage scrape #{} failed: {}", scrapeId, e.getMessage());
@@ -136,8 +184,8 @@ public class WebScraperTools {
         }
 
         try {
-            String html = fetchPageContent(validation.getCleanUrl(), scrapeId);
-            String result = extractStructuredData(html, selector, validation.getCleanUrl());
+            Document doc = fetchDocument(validation.getCleanUrl(), scrapeId);
+            String result = extractStructuredData(doc, selector, validation.getCleanUrl());
 
             logger.info("Structured data extraction #{} completed successfully", scrapeId);
             return result;
@@ -166,7 +214,8 @@ public class WebScraperTools {
         }
 
         try {
-            String currentContent = scrape_webpage(validation.getCleanUrl());
+            // Change detection needs the live page, never a cached copy
+            String currentContent = scrapeWebpage(validation.getCleanUrl(), false);
             String contentHash = generateContentHash(currentContent);
             String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
 
@@ -191,14 +240,35 @@ public class WebScraperTools {
         }
     }
 
-    private String fetchPageContent(String url, long scrapeId) throws ScrapingException {
+    private Document fetchDocument(String url, long scrapeId) throws ScrapingException {
+        ResponseEntity<Flux<DataBuffer>> response = fetchPage(url, scrapeId, null);
+        AtomicLong bytesRead = new AtomicLong();
+        try (StreamParser parser = new StreamParser(Parser.htmlParser()).parse(openBody(response, bytesRead), url)) {
+            Document doc = parser.complete();
+            requireBody(bytesRead, scrapeId);
+            return doc;
+        } catch (ScrapingException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ScrapingException("Failed to read webpage content: " + e.getMessage());
+        }
+    }
+
+    private ResponseEntity<Flux<DataBuffer>> fetchPage(String url, long scrapeId, ScrapedPage stale)
+            throws ScrapingException {
         try {
             logger.debug("Fetching content for scrape #{}: {}", scrapeId, url);
 
-            String html = webClient.get()
+            // Only status and headers are awaited here; the body is streamed by the parser
+            ResponseEntity<Flux<DataBuffer>> response = webClient.get()
                     .uri(url)
+                    .headers(headers -> {
+                        if (stale == null) return;
+                        if (stale.getEtag() != null) headers.setIfNoneMatch(stale.getEtag());
+                        if (stale.getLastModified() != null) headers.set(HttpHeaders.IF_MODIFIED_SINCE, stale.getLastModified());
+                    })
                     .retrieve()
-                    .bodyToMono(String.class)
+                    .toEntityFlux(DataBuffer.class)
                     .timeout(REQUEST_TIMEOUT)
                     .retryWhen(Retry.fixedDelay(MAX_RETRY_ATTEMPTS, RETRY_DELAY)
                             .filter(throwable -> throwable instanceof WebClientRequestException))
@@ -210,12 +280,12 @@ public class WebScraperTools {
                     })
                     .block();
 
-            if (html == null || html.trim().isEmpty()) {
+            if (response == null) {
                 throw new ScrapingException("Received empty response from the webpage.");
             }
 
-            logger.debug("Successfully fetched content for scrape #{}, length: {} characters", scrapeId, html.length());
-            return html;
+            logger.debug("Fetched content for scrape #{}, status: {}", scrapeId, response.getStatusCode().value());
+            return response;
 
         } catch (WebClientRequestException e) {
             throw new ScrapingException("Network error while fetching webpage: " + e.getMessage());
@@ -227,6 +297,28 @@ public class WebScraperTools {
         }
     }
 
+    private Reader openBody(ResponseEntity<Flux<DataBuffer>> response, AtomicLong bytesRead) {
+        Flux<DataBuffer> body = response.getBody() != null ? response.getBody() : Flux.empty();
+        // Upstream is cancelled once the byte budget is reached
+        Flux<DataBuffer> capped = DataBufferUtils.takeUntilByteCount(body, maxBodySize.toBytes())
+                .doOnNext(buffer -> bytesRead.addAndGet(buffer.readableByteCount()))
+                .timeout(REQUEST_TIMEOUT);
+
+        MediaType contentType = response.getHeaders().getContentType();
+        Charset charset = contentType != null && contentType.getCharset() != null
+                ? contentType.getCharset() : StandardCharsets.UTF_8;
+        return new InputStreamReader(DataBufferUtils.subscriberInputStream(capped, BODY_PREFETCH_BUFFERS), charset);
+    }
+
+    private void requireBody(AtomicLong bytesRead, long scrapeId) throws ScrapingException {
+        if (bytesRead.get() == 0) {
+            throw new ScrapingException("Received empty response from the webpage.");
+        }
+        if (bytesRead.get() >= maxBodySize.toBytes()) {
+            logger.debug("Scrape #{} stopped reading at the {} body budget", scrapeId, maxBodySize);
+        }
+    }
+
     private UrlValidationResult validateUrl(String url) {
         if (url == null || url.trim().isEmpty()) {
             return UrlValidationResult.invalid("URL cannot be empty.");
@@ -256,42 +348,51 @@ public class WebScraperTools {
         }
     }
 
-    private String parseWebpageContent(String html, String url) throws ScrapingException {
-        try {
-            Document doc = Jsoup.parse(html);
+    private ScrapedPage parseWebpageContent(ResponseEntity<Flux<DataBuffer>> response, String url, long scrapeId)
+            throws ScrapingException {
+        AtomicLong bytesRead = new AtomicLong();
+        try (StreamParser parser = new StreamParser(Parser.htmlParser()).parse(openBody(response, bytesRead), url)) {
+            String author = null;
+            String publishDate = null;
+            Element mainContent = null;
+
+            // Elements arrive as they close; boilerplate is dropped right away so it never accumulates
+            Iterator<Element> elements = parser.iterator();
+            while (elements.hasNext()) {
+                Element element = elements.next();
+                if (author == null && element.is(AUTHOR_SELECTORS)) author = element.text();
+                if (publishDate == null && element.is(DATE_SELECTORS)) publishDate = element.text();
+
+                if (element.is(REMOVE_ELEMENTS_SELECTOR)) {
+                    element.remove();
+                    if (mainContent != null && mainContent.ownerDocument() == null) mainContent = null;
+                    continue;
+                }
+                // Outermost match wins, like selectFirst: an enclosing container closes after its children
+                if (element.is(MAIN_CONTENT_SELECTORS)
+                        && (mainContent == null || mainContent.parents().contains(element))) {
+                    mainContent = element;
+                }
+            }
+            requireBody(bytesRead, scrapeId);
 
-            WebpageMetadata metadata = extractMetadata(doc, url);
-            String mainContent = extractMainContent(doc);
+            Document doc = parser.document();
+            WebpageMetadata metadata = new WebpageMetadata(doc.title(), extractDomain(url),
+                    extractMetaDescription(doc), author, publishDate);
+            String content = mainContent != null ? mainContent.text() : doc.body().text();
 
-            return formatWebpageResult(metadata, mainContent);
+            return metadata.toScrapedPage(url, content, response.getHeaders().getETag(),
+                    response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED));
 
+        } catch (ScrapingException e) {
+            throw e;
         } catch (Exception e) {
             throw new ScrapingException("Failed to parse webpage content: " + e.getMessage());
         }
     }
 
-    private WebpageMetadata extractMetadata(Document doc, String url) {
-        String title = doc.title();
-        String domain = extractDomain(url);
-        String description = extractMetaDescription(doc);
-        String author = extractAuthor(doc);
-        String publishDate = extractPublishDate(doc);
-
-        return new WebpageMetadata(title, domain, description, author, publishDate);
-    }
-
-    private String extractMainContent(Document doc) {
-        // Remove unwanted elements
-        doc.select(REMOVE_ELEMENTS_SELECTOR).remove();
-
-        // Try to find main content area
-        Element mainContent = doc.selectFirst(MAIN_CONTENT_SELECTORS);
-        if (mainContent != null) {
-            return mainContent.text();
-        }
-
-        // Fallback to body content
-        return doc.body().text();
+    private String formatWebpageResult(ScrapedPage page) {
+        return formatWebpageResult(WebpageMetadata.from(page), page.getContent());
     }
 
     private String formatWebpageResult(WebpageMetadata metadata, String content) {
@@ -316,10 +417,8 @@ public class WebScraperTools {
         return result.toString();
     }
 
-    private String extractStructuredData(String html, String selector, String url) throws ScrapingException {
+    private String extractStructuredData(Document doc, String selector, String url) throws ScrapingException {
         try {
-            Document doc = Jsoup.parse(html);
-
             if (selector != null && !selector.trim().isEmpty()) {
                 return extractSpecificElements(doc, selector.trim(), url);
             } else {
@@ -399,16 +498,6 @@ public class WebScraperTools {
         return desc != null ? desc.attr("content") : "";
     }
 
-    private static String extractAuthor(Document doc) {
-        Element author = doc.selectFirst(AUTHOR_SELECTORS);
-        return author != null ? author.text() : "";
-    }
-
-    private static String extractPublishDate(Document doc) {
-        Element date = doc.selectFirst(DATE_SELECTORS);
-        return date != null ? date.text() : "";
-    }
-
     private static String truncateContent(String content, int maxLength) {
         if (content == null || content.trim().isEmpty()) {
             return "No content found";
@@ -475,6 +564,16 @@ public class WebScraperTools {
             this.author = author != null ? author : "";
             this.publishDate = publishDate != null ? publishDate : "";
         }
+
+        static WebpageMetadata from(ScrapedPage page) {
+            return new WebpageMetadata(page.getTitle(), page.getDomain(), page.getDescription(),
+                    page.getAuthor(), page.getPublishDate());
+        }
+
+        ScrapedPage toScrapedPage(String url, String content, String etag, String lastModified) {
+            return new ScrapedPage(url, title, domain, description, author, publishDate, content,
+                    etag, lastModified, System.currentTimeMillis());
+        }
     }
 
     // Custom exception
@@ -1,5 +1,6 @@
 package com.AI4Java.BackendAI.AI.tools.Free;
 
+import com.AI4Java.BackendAI.AI.tools.Http.ToolWebClients;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
@@ -8,6 +9,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
@@ -53,6 +55,8 @@ public class WebSearchTools {
     private static final String API_PARAMS = "?q=%s&format=json&no_html=1&skip_disambig=1" + API_IDENTIFIER;
 
     // Instance variables
+    @Autowired
+    private ToolWebClients toolWebClients;
     private WebClient webClient;
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final AtomicLong searchCount = new AtomicLong(0);
@@ -60,7 +64,7 @@ public class WebSearchTools {
     @PostConstruct
     public void initialize() {
         logger.info("Initializing Web Search Tools service");
-        webClient = WebClient.builder()
+        webClient = toolWebClients.builder()
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(MAX_MEMORY_SIZE))
                 .defaultHeader("User-Agent", USER_AGENT)
                 .build();
@@ -1,5 +1,6 @@
 package com.AI4Java.BackendAI.AI.tools.Free;
 
+import com.AI4Java.BackendAI.AI.tools.Http.ToolWebClients;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -9,6 +10,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
@@ -60,6 +62,8 @@ public class WikipediaTools {
     private static final String USER_AGENT = "SpringAI-WikipediaTool/1.0";
 
     // Instance variables
+    @Autowired
+    private ToolWebClients toolWebClients;
     private WebClient webClient;
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final AtomicLong requestCount = new AtomicLong(0);
@@ -67,7 +71,7 @@ public class WikipediaTools {
     @PostConstruct
     public void initialize() {
         logger.info("Initializing Wikipedia Tools service");
-        webClient = WebClient.builder()
+        webClient = toolWebClients.builder()
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(MAX_MEMORY_SIZE))
                 .defaultHeader("User-Agent", USER_AGENT)
                 .build();
@@ -0,0 +1,142 @@
+package com.AI4Java.BackendAI.AI.tools.Http;
+
+import com.AI4Java.BackendAI.config.ToolHttpProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-host token bucket in front of every tool request. A request that finds the bucket empty
+ * reserves the next token and is delayed on a timer instead of holding a thread; cancelling it
+ * while it waits hands the token back. Latency per host and outcome is recorded as
+ * {@code tool.http.requests}, time spent throttled as {@code tool.http.throttle.delay}.
+ */
+final class HostPolitenessFilter implements ExchangeFilterFunction {
+
+    private static final Logger logger = LoggerFactory.getLogger(HostPolitenessFilter.class);
+
+    // Buckets of hosts not contacted for this long are dropped
+    private static final Duration BUCKET_IDLE_EXPIRY = Duration.ofMinutes(10);
+
+    private static final String OTHER_HOSTS = "other";
+
+    private final ToolHttpProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, TokenBucket> buckets = Caffeine.newBuilder()
+            .expireAfterAccess(BUCKET_IDLE_EXPIRY)
+            .build();
+    private final Set<String> taggedHosts = ConcurrentHashMap.newKeySet();
+
+    HostPolitenessFilter(ToolHttpProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String host = hostOf(request.url());
+        String hostTag = metricTag(host);
+
+        Mono<ClientResponse> exchange = Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            return next.exchange(request)
+                    .doOnSuccess(response -> recordRequest(hostTag, outcomeOf(response), startNanos))
+                    .doOnError(error -> recordRequest(hostTag, "IO_ERROR", startNanos));
+        });
+
+        TokenBucket bucket = buckets.get(host, key -> new TokenBucket(properties.rateFor(key), properties.burstFor(key)));
+        long delayNanos = bucket.reserve();
+        if (delayNanos == 0) {
+            return exchange;
+        }
+
+        logger.debug("Throttling request to {} for {} ms", host, TimeUnit.NANOSECONDS.toMillis(delayNanos));
+        Timer.builder("tool.http.throttle.delay").tag("host", hostTag).register(meterRegistry)
+                .record(delayNanos, TimeUnit.NANOSECONDS);
+        return Mono.delay(Duration.ofNanos(delayNanos))
+                .doOnCancel(bucket::refund)
+                .then(exchange);
+    }
+
+    private void recordRequest(String hostTag, String outcome, long startNanos) {
+        Timer.builder("tool.http.requests")
+                .tag("host", hostTag)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Scrapers reach arbitrary hosts, so only the first maxMetricHosts get their own tag
+    private String metricTag(String host) {
+        if (taggedHosts.contains(host)) return host;
+        if (taggedHosts.size() < properties.getMaxMetricHosts()) {
+            taggedHosts.add(host);
+            return host;
+        }
+        return OTHER_HOSTS;
+    }
+
+    private static String outcomeOf(ClientResponse response) {
+        if (response == null) return "UNKNOWN";
+        int status = response.statusCode().value();
+        if (status >= 500) return "SERVER_ERROR";
+        if (status >= 400) return "CLIENT_ERROR";
+        if (status >= 300) return "REDIRECTION";
+        return "SUCCESS";
+    }
+
+    private static String hostOf(URI url) {
+        return url.getHost() != null ? url.getHost().toLowerCase(Locale.ROOT) : "unknown";
+    }
+
+    /**
+     * Token bucket that hands out reservations: tokens may go negative, and the deficit tells
+     * how long the caller has to wait for its turn.
+     */
+    static final class TokenBucket {
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefillNanos;
+
+        TokenBucket(double ratePerSecond, int burst) {
+            this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1, burst);
+            this.tokens = capacity;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        /**
+         * Takes one token and returns how many nanoseconds to wait before using it.
+         */
+        synchronized long reserve() {
+            // Rate 0 or below disables throttling for the host
+            if (tokensPerNano <= 0) return 0;
+
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+            lastRefillNanos = now;
+            tokens -= 1;
+            return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+        }
+
+        synchronized void refund() {
+            tokens = Math.min(capacity, tokens + 1);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.AI4Java.BackendAI.AI.tools.Http;
+
+import com.AI4Java.BackendAI.config.ToolHttpProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Source of {@link WebClient.Builder}s for tool beans. Every builder shares one Reactor Netty
+ * connection pool, so keep-alive connections are reused across tools. The pool is per remote
+ * host, which caps requests in flight per host at {@code tools.http.max-connections-per-host};
+ * extra requests queue without holding a thread. Every request also passes the per-host
+ * {@link HostPolitenessFilter}. Pool metrics are published as
+ * {@code reactor.netty.connection.provider.*}.
+ */
+@Component
+public class ToolWebClients {
+
+    private static final Logger logger = LoggerFactory.getLogger(ToolWebClients.class);
+
+    private static final String POOL_NAME = "tool-http";
+    private static final Duration EVICTION_INTERVAL = Duration.ofSeconds(30);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+    private final ConnectionProvider connectionProvider;
+    private final ReactorClientHttpConnector connector;
+    private final HostPolitenessFilter politenessFilter;
+
+    public ToolWebClients(ToolHttpProperties properties, MeterRegistry meterRegistry) {
+        this.connectionProvider = ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(properties.getMaxConnectionsPerHost())
+                .pendingAcquireMaxCount(properties.getMaxPendingPerHost())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(EVICTION_INTERVAL)
+                .metrics(true)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getResponseTimeout())
+                .followRedirect(true)
+                .compress(true);
+
+        this.connector = new ReactorClientHttpConnector(httpClient);
+        this.politenessFilter = new HostPolitenessFilter(properties, meterRegistry);
+        logger.info("Tool HTTP pool initialized: {} connections per host, default {} req/s per host",
+                properties.getMaxConnectionsPerHost(), properties.getDefaultRate());
+    }
+
+    /**
+     * New builder on the shared pool; tools add their own headers, codecs and base URL.
+     */
+    public WebClient.Builder builder() {
+        return WebClient.builder()
+                .clientConnector(connector)
+                .filter(politenessFilter);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        logger.info("Shutting down tool HTTP pool");
+        connectionProvider.disposeLater().block(SHUTDOWN_TIMEOUT);
+    }
+}
@@ -1,5 +1,6 @@
 package com.AI4Java.BackendAI.AI.tools.Paid;
 
+import com.AI4Java.BackendAI.AI.tools.Http.ToolWebClients;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
@@ -8,6 +9,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -67,6 +69,8 @@ public class BraveSearchApiTools {
     @Value("${brave.api.key}")
     private String braveApiKey;
 
+    @Autowired
+    private ToolWebClients toolWebClients;
     private WebClient webClient;
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final AtomicLong searchCount = new AtomicLong(0);
@@ -80,7 +84,7 @@ public class BraveSearchApiTools {
             throw new BraveSearchInitializationException("Brave API key is required but not configured");
         }
 
-        webClient = WebClient.builder()
+        webClient = toolWebClients.builder()
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(MAX_MEMORY_SIZE))
                 .defaultHeader("User-Agent", USER_AGENT)
                 .defaultHeader("Accept", ACCEPT_HEADER)
@@ -1,5 +1,6 @@
 package com.AI4Java.BackendAI.AI.tools.Paid;
 
+import com.AI4Java.BackendAI.AI.tools.Http.ToolWebClients;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
@@ -8,6 +9,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -39,6 +41,8 @@ public class ExchangeRateApiTools {
     @Value("${exchange.api.key}")
     private String apiKey;
 
+    @Autowired
+    private ToolWebClients toolWebClients;
     private WebClient web;
     private final ObjectMapper mapper = new ObjectMapper();
     private final AtomicLong callCounter = new AtomicLong(0);
@@ -48,7 +52,7 @@ public class ExchangeRateApiTools {
         if (apiKey == null || apiKey.isBlank()) {
             throw new IllegalStateException("exchange.api.key must be configured");
         }
-        web = WebClient.builder()
+        web = toolWebClients.builder()
                 .codecs(cfg -> cfg.defaultCodecs().maxInMemorySize(MAX_MEM))
                 .defaultHeader("User-Agent", "SpringAI-ExchangeTool/1.0")
                 .build();
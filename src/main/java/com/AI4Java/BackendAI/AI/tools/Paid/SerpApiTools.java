@@ -1,5 +1,6 @@
 package com.AI4Java.BackendAI.AI.tools.Paid;
 
+import com.AI4Java.BackendAI.AI.tools.Http.ToolWebClients;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
@@ -9,6 +10,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -40,6 +42,8 @@ public class SerpApiTools {
     @Value("${serpapi.api.key}")
     private String apiKey;
 
+    @Autowired
+    private ToolWebClients toolWebClients;
     private WebClient web;
     private final Gson gson = new Gson();
     private final AtomicLong callCnt = new AtomicLong(0);
@@ -49,7 +53,7 @@ public class SerpApiTools {
         if (apiKey == null || apiKey.isBlank())
             throw new IllegalStateException("serpapi.api.key must be configured");
 
-        web = WebClient.builder()
+        web = toolWebClients.builder()
                 .codecs(cfg -> cfg.defaultCodecs().maxInMemorySize(MAX_MEM))
                 .defaultHeader("User-Agent", "SpringAI-SerpApiTool/1.0")
                 .build();
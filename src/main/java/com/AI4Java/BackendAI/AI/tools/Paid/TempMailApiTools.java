@@ -1,5 +1,6 @@
 package com.AI4Java.BackendAI.AI.tools.Paid;
 
+import com.AI4Java.BackendAI.AI.tools.Http.ToolWebClients;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
@@ -8,6 +9,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -35,6 +37,8 @@ public class TempMailApiTools {
     @Value("${tempmail.api.key}")
     private String apiKey;
 
+    @Autowired
+    private ToolWebClients toolWebClients;
     private WebClient          web;
     private final ObjectMapper mapper = new ObjectMapper();
     private final AtomicLong   counter= new AtomicLong(0);
@@ -43,7 +47,7 @@ public class TempMailApiTools {
     public void init() {
         if (apiKey == null || apiKey.isBlank())
             throw new IllegalStateException("tempmail.api.key must be configured");
-        web = WebClient.builder()
+        web = toolWebClients.builder()
                 .codecs(cfg -> cfg.defaultCodecs().maxInMemorySize(MAX_MEM))
                 .defaultHeader("User-Agent", "SpringAI-TempMailTool/1.0")
                 .defaultHeader("X-RapidAPI-Key", apiKey)
@@ -1,5 +1,6 @@
 package com.AI4Java.BackendAI.AI.tools.Paid;
 
+import com.AI4Java.BackendAI.AI.tools.Http.ToolWebClients;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
@@ -8,6 +9,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -31,13 +33,15 @@ public class YouTubeSummarizerTools {
     private static final int MAX_RETRY  = 2;
     private static final Duration TIMEOUT = Duration.ofSeconds(12);
 
+    @Autowired
+    private ToolWebClients toolWebClients;
     private WebClient web;
     private final ObjectMapper mapper = new ObjectMapper();
     private final AtomicLong requestCnt = new AtomicLong(0);
 
     @PostConstruct
     public void init() {
-        web = WebClient.builder()
+        web = toolWebClients.builder()
                 .defaultHeader("User-Agent", "SpringAI-YouTubeSummarizer/1.0")
                 .build();
         logger.info("YouTubeSummarizerTools initialised.");
@@ -0,0 +1,22 @@
+package com.AI4Java.BackendAI.AI.tools.Scraping;
+
+/**
+ * Raw HTML of a page plus the HTTP validators (ETag / Last-Modified) of the response it came
+ * from. A page rendered by a browser has no validators.
+ */
+public class FetchedPage {
+
+    private final String html;
+    private final String etag;
+    private final String lastModified;
+
+    public FetchedPage(String html, String etag, String lastModified) {
+        this.html = html;
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    public String getHtml() { return html; }
+    public String getEtag() { return etag; }
+    public String getLastModified() { return lastModified; }
+}
@@ -0,0 +1,131 @@
+package com.AI4Java.BackendAI.AI.tools.Scraping;
+
+import com.AI4Java.BackendAI.AI.tools.Http.ToolWebClients;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Plain HTTP GET of a page, the cheap first tier of {@link TieredPageFetcher}. Never throws:
+ * any failure (network error, non-2xx status, non-HTML body) is reported as a failed
+ * {@link Result} with its reason, so the caller can fall back to a browser. Given a stale
+ * {@link ScrapedPage} with validators, the GET is conditional and may come back not modified.
+ */
+@Component
+public class HttpPageFetcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpPageFetcher.class);
+
+    // HTTP Configuration
+    private static final int MAX_MEMORY_SIZE = 8 * 1024 * 1024;
+
+    // HTTP Headers
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+    private static final String ACCEPT_HEADER = "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8";
+
+    private final WebClient webClient;
+    private final Duration timeout;
+
+    public HttpPageFetcher(ToolWebClients toolWebClients,
+                           @Value("${scrape.fetch.http-timeout:10s}") Duration timeout) {
+        this.timeout = timeout;
+        this.webClient = toolWebClients.builder()
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(MAX_MEMORY_SIZE))
+                .defaultHeader("User-Agent", USER_AGENT)
+                .defaultHeader("Accept", ACCEPT_HEADER)
+                .build();
+    }
+
+    public Result fetch(String url) {
+        return fetch(url, null);
+    }
+
+    public Result fetch(String url, ScrapedPage stale) {
+        try {
+            ResponseEntity<String> response = webClient.get()
+                    .uri(url)
+                    .headers(headers -> {
+                        if (stale == null) return;
+                        if (stale.getEtag() != null) headers.setIfNoneMatch(stale.getEtag());
+                        if (stale.getLastModified() != null) headers.set(HttpHeaders.IF_MODIFIED_SINCE, stale.getLastModified());
+                    })
+                    .retrieve()
+                    .toEntity(String.class)
+                    .timeout(timeout)
+                    .block();
+
+            if (response == null) return Result.failed("no response");
+            if (stale != null && response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                return Result.notModified();
+            }
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                return Result.failed("HTTP " + response.getStatusCode().value());
+            }
+            if (response.getBody() == null) return Result.failed("empty body");
+
+            MediaType contentType = response.getHeaders().getContentType();
+            if (contentType != null && !isHtml(contentType)) {
+                logger.debug("HTTP fetch of {} returned {}, not HTML", url, contentType);
+                return Result.failed("content type " + contentType);
+            }
+            return Result.ok(response.getBody(), response.getHeaders().getETag(),
+                    response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED));
+
+        } catch (WebClientResponseException e) {
+            logger.debug("HTTP fetch of {} failed: HTTP {}", url, e.getStatusCode().value());
+            return Result.failed("HTTP " + e.getStatusCode().value());
+        } catch (Exception e) {
+            logger.debug("HTTP fetch of {} failed: {}", url, e.getMessage());
+            return Result.failed(e.getCause() instanceof TimeoutException || e instanceof TimeoutException
+                    ? "timeout" : String.valueOf(e.getMessage()));
+        }
+    }
+
+    private static boolean isHtml(MediaType contentType) {
+        return MediaType.TEXT_HTML.includes(contentType)
+                || MediaType.APPLICATION_XHTML_XML.includes(contentType)
+                || MediaType.TEXT_PLAIN.includes(contentType);
+    }
+
+    /**
+     * Outcome of one GET: the page, "not modified" for a conditional GET, or why it failed.
+     */
+    public static class Result {
+        private final FetchedPage page;
+        private final boolean notModified;
+        private final String failure;
+
+        private Result(FetchedPage page, boolean notModified, String failure) {
+            this.page = page;
+            this.notModified = notModified;
+            this.failure = failure;
+        }
+
+        static Result ok(String html, String etag, String lastModified) {
+            return new Result(new FetchedPage(html, etag, lastModified), false, null);
+        }
+
+        static Result notModified() {
+            return new Result(null, true, null);
+        }
+
+        static Result failed(String reason) {
+            return new Result(null, false, reason);
+        }
+
+        public boolean isOk() { return page != null; }
+        public boolean isNotModified() { return notModified; }
+        public FetchedPage getPage() { return page; }
+        public String getFailure() { return failure; }
+    }
+}
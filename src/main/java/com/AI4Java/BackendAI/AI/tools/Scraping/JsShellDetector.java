@@ -0,0 +1,65 @@
+package com.AI4Java.BackendAI.AI.tools.Scraping;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.util.Locale;
+
+/**
+ * Tells apart server-rendered HTML from a client-side rendered shell that only fills in once
+ * its scripts run, so that a plain HTTP fetch is only thrown away when a browser is needed.
+ */
+final class JsShellDetector {
+
+    // Visible text below which a page with scripts is treated as not yet rendered
+    private static final int MIN_TEXT_CHARS = 200;
+
+    // A <noscript> warning only matters when the page has little else to show
+    private static final int NOSCRIPT_TEXT_CHARS = 1000;
+
+    // Mount points of common SPA frameworks (React, Vue, Next, Nuxt, Gatsby, Angular)
+    private static final String SPA_ROOT_SELECTORS =
+            "#root, #app, #__next, #__nuxt, #___gatsby, [data-reactroot], [ng-app], app-root";
+    private static final int SPA_ROOT_MIN_TEXT_CHARS = 50;
+
+    private static final String[] NOSCRIPT_MARKERS = {
+            "enable javascript", "javascript is required", "requires javascript",
+            "javascript is disabled", "turn on javascript", "need to enable javascript"
+    };
+
+    private JsShellDetector() {
+    }
+
+    /**
+     * Returns why the HTML looks like a JS-rendered shell, or null when it has usable content.
+     */
+    static String shellReason(String html) {
+        if (html == null || html.isBlank()) return "empty body";
+
+        Document doc = Jsoup.parse(html);
+        if (doc.body() == null) return "no body";
+
+        boolean hasScripts = !doc.select("script[src], script:not([type]), script[type=module]").isEmpty();
+        String noscriptText = doc.select("noscript").text().toLowerCase(Locale.ROOT);
+
+        doc.select("script, style, noscript, template").remove();
+        int textChars = doc.body().text().length();
+
+        if (textChars == 0) return "no visible text";
+
+        Element spaRoot = doc.selectFirst(SPA_ROOT_SELECTORS);
+        if (spaRoot != null && spaRoot.text().length() < SPA_ROOT_MIN_TEXT_CHARS) {
+            return "empty SPA root";
+        }
+
+        if (textChars < NOSCRIPT_TEXT_CHARS) {
+            for (String marker : NOSCRIPT_MARKERS) {
+                if (noscriptText.contains(marker)) return "noscript warning";
+            }
+        }
+
+        if (hasScripts && textChars < MIN_TEXT_CHARS) return "script-only page";
+        return null;
+    }
+}
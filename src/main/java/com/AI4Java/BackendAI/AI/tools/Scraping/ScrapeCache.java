@@ -0,0 +1,351 @@
+package com.AI4Java.BackendAI.AI.tools.Scraping;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Scrape results shared by all scraper tools, keyed by normalized URL. A weight-bounded
+ * Caffeine tier sits in front of a size-bounded disk tier whose entries are files named by
+ * the SHA-256 of the key and read back through memory mapping. Entries younger than
+ * {@code ttl} are served as is; older ones are returned as stale so the caller can
+ * revalidate them with ETag / Last-Modified before refetching.
+ */
+@Component
+public class ScrapeCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScrapeCache.class);
+
+    private static final String ENTRY_SUFFIX = ".page";
+
+    // Query parameters that only track the click and never change the page
+    private static final Set<String> TRACKING_PARAMS = Set.of("fbclid", "gclid", "msclkid", "ref", "ref_src");
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Duration maxAge;
+    private final int maxContentChars;
+    private final Path diskDir;
+    private final long diskMaxBytes;
+
+    private final Cache<String, ScrapedPage> memoryTier;
+    private final Map<String, DiskEntry> diskIndex = new ConcurrentHashMap<>();
+    private final AtomicLong diskBytes = new AtomicLong();
+    // Not synchronized: file deletes under a monitor would pin a virtual thread's carrier
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private volatile boolean diskEnabled;
+
+    private final Counter memoryHits;
+    private final Counter diskHits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter revalidations;
+    private final Counter bytesRead;
+    private final Counter bytesWritten;
+
+    public ScrapeCache(MeterRegistry meterRegistry,
+                       @Value("${scrape.cache.enabled:true}") boolean enabled,
+                       @Value("${scrape.cache.ttl:10m}") Duration ttl,
+                       @Value("${scrape.cache.max-age:24h}") Duration maxAge,
+                       @Value("${scrape.cache.max-content-chars:32000}") int maxContentChars,
+                       @Value("${scrape.cache.memory.max-size:32MB}") DataSize memoryMaxSize,
+                       @Value("${scrape.cache.disk.dir:${java.io.tmpdir}/backendai-scrape-cache}") String diskDir,
+                       @Value("${scrape.cache.disk.max-size:256MB}") DataSize diskMaxSize) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.maxAge = maxAge;
+        this.maxContentChars = maxContentChars;
+        this.diskDir = Path.of(diskDir);
+        this.diskMaxBytes = diskMaxSize.toBytes();
+
+        this.memoryTier = Caffeine.newBuilder()
+                .maximumWeight(memoryMaxSize.toBytes())
+                .weigher((String key, ScrapedPage page) -> page.estimatedBytes())
+                .expireAfterWrite(maxAge)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, memoryTier, "scrapePages");
+
+        this.memoryHits = Counter.builder("scrape.cache.requests").tag("result", "hit").tag("tier", "memory")
+                .register(meterRegistry);
+        this.diskHits = Counter.builder("scrape.cache.requests").tag("result", "hit").tag("tier", "disk")
+                .register(meterRegistry);
+        this.staleHits = Counter.builder("scrape.cache.requests").tag("result", "stale").tag("tier", "any")
+                .register(meterRegistry);
+        this.misses = Counter.builder("scrape.cache.requests").tag("result", "miss").tag("tier", "none")
+                .register(meterRegistry);
+        this.revalidations = Counter.builder("scrape.cache.revalidated")
+                .description("Stale entries confirmed unchanged by the origin (HTTP 304)")
+                .register(meterRegistry);
+        this.bytesRead = Counter.builder("scrape.cache.disk.read").baseUnit("bytes").register(meterRegistry);
+        this.bytesWritten = Counter.builder("scrape.cache.disk.written").baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("scrape.cache.disk.size", diskBytes, AtomicLong::get).baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("scrape.cache.disk.entries", diskIndex, Map::size).register(meterRegistry);
+
+        if (enabled) {
+            initDiskTier();
+        }
+    }
+
+    /**
+     * Looks the URL up in memory, then on disk. The result is a miss, a fresh hit, or a stale
+     * hit that may still be revalidated.
+     */
+    public Lookup lookup(String url) {
+        if (!enabled) return Lookup.MISS;
+
+        String key = normalizeUrl(url);
+        ScrapedPage page = memoryTier.getIfPresent(key);
+        Counter tierHits = memoryHits;
+        if (page == null) {
+            page = readDisk(key);
+            tierHits = diskHits;
+            if (page != null) memoryTier.put(key, page);
+        }
+
+        long ageMillis = page == null ? 0 : System.currentTimeMillis() - page.getFetchedAtMillis();
+        if (page == null || ageMillis > maxAge.toMillis()) {
+            if (page != null) invalidate(key);
+            misses.increment();
+            return Lookup.MISS;
+        }
+        if (ageMillis > ttl.toMillis()) {
+            staleHits.increment();
+            return new Lookup(page, false);
+        }
+        tierHits.increment();
+        return new Lookup(page, true);
+    }
+
+    public void put(String url, ScrapedPage page) {
+        if (!enabled) return;
+
+        if (page.getContent().length() > maxContentChars) {
+            page = new ScrapedPage(page.getUrl(), page.getTitle(), page.getDomain(), page.getDescription(),
+                    page.getAuthor(), page.getPublishDate(), page.getContent().substring(0, maxContentChars),
+                    page.getEtag(), page.getLastModified(), page.getFetchedAtMillis());
+        }
+        String key = normalizeUrl(url);
+        memoryTier.put(key, page);
+        writeDisk(key, page);
+    }
+
+    /**
+     * Marks a stale entry as confirmed by the origin (HTTP 304) and returns the refreshed copy.
+     */
+    public ScrapedPage revalidated(String url, ScrapedPage stale) {
+        ScrapedPage refreshed = stale.revalidated(System.currentTimeMillis());
+        revalidations.increment();
+        put(url, refreshed);
+        return refreshed;
+    }
+
+    public static String normalizeUrl(String url) {
+        String trimmed = url.trim();
+        try {
+            URI uri = new URI(trimmed);
+            if (uri.getScheme() == null || uri.getHost() == null) return trimmed;
+
+            String scheme = uri.getScheme().toLowerCase();
+            int port = uri.getPort();
+            boolean defaultPort = port == -1 || ("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443);
+
+            String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+            if (path.length() > 1 && path.endsWith("/")) path = path.substring(0, path.length() - 1);
+
+            String query = uri.getRawQuery() == null ? "" : Arrays.stream(uri.getRawQuery().split("&"))
+                    .filter(param -> !param.isEmpty())
+                    .filter(param -> {
+                        String name = param.split("=", 2)[0].toLowerCase();
+                        return !name.startsWith("utm_") && !TRACKING_PARAMS.contains(name);
+                    })
+                    .sorted()
+                    .collect(Collectors.joining("&"));
+
+            // Fragment is dropped: it never reaches the server
+            return scheme + "://" + uri.getHost().toLowerCase() + (defaultPort ? "" : ":" + port)
+                    + path + (query.isEmpty() ? "" : "?" + query);
+        } catch (URISyntaxException e) {
+            return trimmed;
+        }
+    }
+
+    // Disk tier
+
+    private void initDiskTier() {
+        try {
+            Files.createDirectories(diskDir);
+            try (Stream<Path> files = Files.list(diskDir)) {
+                files.filter(path -> path.getFileName().toString().endsWith(ENTRY_SUFFIX)).forEach(path -> {
+                    try {
+                        String name = path.getFileName().toString();
+                        long size = Files.size(path);
+                        long lastModified = Files.getLastModifiedTime(path).toMillis();
+                        diskIndex.put(name.substring(0, name.length() - ENTRY_SUFFIX.length()),
+                                new DiskEntry(path, size, lastModified));
+                        diskBytes.addAndGet(size);
+                    } catch (IOException e) {
+                        logger.debug("Skipping unreadable scrape cache file {}: {}", path, e.getMessage());
+                    }
+                });
+            }
+            diskEnabled = true;
+            logger.info("Scrape cache disk tier at {} ({} entries, {} bytes)", diskDir, diskIndex.size(), diskBytes.get());
+            evictDiskIfNeeded();
+        } catch (IOException e) {
+            logger.warn("Scrape cache disk tier disabled, cannot use {}: {}", diskDir, e.getMessage());
+        }
+    }
+
+    private ScrapedPage readDisk(String key) {
+        if (!diskEnabled) return null;
+        String fileKey = fileKey(key);
+        DiskEntry entry = diskIndex.get(fileKey);
+        if (entry == null) return null;
+
+        try (FileChannel channel = FileChannel.open(entry.path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            ScrapedPage page = ScrapedPage.deserialize(buffer);
+            bytesRead.increment(entry.size);
+            entry.lastAccessMillis = System.currentTimeMillis();
+            // Hash collision or old format: treat as a miss
+            if (page == null || !key.equals(normalizeUrl(page.getUrl()))) return null;
+            return page;
+        } catch (IOException | BufferUnderflowException e) {
+            logger.debug("Dropping unreadable scrape cache entry {}: {}", entry.path, e.getMessage());
+            removeDiskEntry(fileKey);
+            return null;
+        }
+    }
+
+    private void writeDisk(String key, ScrapedPage page) {
+        if (!diskEnabled) return;
+        byte[] bytes = page.serialize();
+        if (bytes.length > diskMaxBytes) return;
+
+        String fileKey = fileKey(key);
+        Path target = diskDir.resolve(fileKey + ENTRY_SUFFIX);
+        Path temp = null;
+        try {
+            // Unique per write, so concurrent writers of the same key never share a temp file
+            temp = Files.createTempFile(diskDir, fileKey, ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) channel.write(buffer);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            DiskEntry previous = diskIndex.put(fileKey, new DiskEntry(target, bytes.length, System.currentTimeMillis()));
+            diskBytes.addAndGet(bytes.length - (previous != null ? previous.size : 0));
+            bytesWritten.increment(bytes.length);
+            evictDiskIfNeeded();
+        } catch (IOException e) {
+            logger.debug("Failed to write scrape cache entry for {}: {}", page.getUrl(), e.getMessage());
+            try {
+                if (temp != null) Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // Best effort
+            }
+        }
+    }
+
+    private void evictDiskIfNeeded() {
+        if (diskBytes.get() <= diskMaxBytes) return;
+
+        evictionLock.lock();
+        try {
+            List<Map.Entry<String, DiskEntry>> byLastAccess = new ArrayList<>(diskIndex.entrySet());
+            byLastAccess.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccessMillis));
+            for (Map.Entry<String, DiskEntry> entry : byLastAccess) {
+                if (diskBytes.get() <= diskMaxBytes) break;
+                removeDiskEntry(entry.getKey());
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void invalidate(String key) {
+        memoryTier.invalidate(key);
+        if (diskEnabled) removeDiskEntry(fileKey(key));
+    }
+
+    private void removeDiskEntry(String fileKey) {
+        DiskEntry removed = diskIndex.remove(fileKey);
+        if (removed == null) return;
+        diskBytes.addAndGet(-removed.size);
+        try {
+            Files.deleteIfExists(removed.path);
+        } catch (IOException e) {
+            logger.debug("Failed to delete scrape cache file {}: {}", removed.path, e.getMessage());
+        }
+    }
+
+    private static String fileKey(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Result of {@link #lookup}: {@code page} is null on a miss; {@code fresh} is false when
+     * the entry is older than the TTL and should be revalidated or refetched.
+     */
+    public static class Lookup {
+        static final Lookup MISS = new Lookup(null, false);
+
+        private final ScrapedPage page;
+        private final boolean fresh;
+
+        Lookup(ScrapedPage page, boolean fresh) {
+            this.page = page;
+            this.fresh = fresh;
+        }
+
+        public ScrapedPage getPage() { return page; }
+        public boolean isHit() { return page != null; }
+        public boolean isFresh() { return fresh; }
+    }
+
+    private static class DiskEntry {
+        final Path path;
+        final long size;
+        volatile long lastAccessMillis;
+
+        DiskEntry(Path path, long size, long lastAccessMillis) {
+            this.path = path;
+            this.size = size;
+            this.lastAccessMillis = lastAccessMillis;
+        }
+    }
+}
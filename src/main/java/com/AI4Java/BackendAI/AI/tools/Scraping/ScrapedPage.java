@@ -0,0 +1,121 @@
+package com.AI4Java.BackendAI.AI.tools.Scraping;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parsed result of one scrape: page metadata, extracted main content and the HTTP
+ * validators (ETag / Last-Modified) needed to revalidate it later.
+ */
+public class ScrapedPage {
+
+    // Bumped whenever the serialized layout changes; older disk entries are then ignored
+    private static final int FORMAT_VERSION = 1;
+
+    private final String url;
+    private final String title;
+    private final String domain;
+    private final String description;
+    private final String author;
+    private final String publishDate;
+    private final String content;
+    private final String etag;
+    private final String lastModified;
+    private final long fetchedAtMillis;
+
+    public ScrapedPage(String url, String title, String domain, String description, String author,
+                       String publishDate, String content, String etag, String lastModified, long fetchedAtMillis) {
+        this.url = url;
+        this.title = title != null ? title : "";
+        this.domain = domain != null ? domain : "Unknown";
+        this.description = description != null ? description : "";
+        this.author = author != null ? author : "";
+        this.publishDate = publishDate != null ? publishDate : "";
+        this.content = content != null ? content : "";
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.fetchedAtMillis = fetchedAtMillis;
+    }
+
+    /**
+     * Same page with a new fetch time, after the origin confirmed it is unchanged (HTTP 304).
+     */
+    public ScrapedPage revalidated(long nowMillis) {
+        return new ScrapedPage(url, title, domain, description, author, publishDate, content,
+                etag, lastModified, nowMillis);
+    }
+
+    public boolean hasValidators() {
+        return etag != null || lastModified != null;
+    }
+
+    // Rough in-memory footprint (UTF-16 chars) used to weigh memory-tier entries
+    int estimatedBytes() {
+        return 64 + 2 * (length(url) + title.length() + domain.length() + description.length()
+                + author.length() + publishDate.length() + content.length() + length(etag) + length(lastModified));
+    }
+
+    byte[] serialize() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length() + 512);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(fetchedAtMillis);
+            for (String field : new String[]{url, title, domain, description, author, publishDate, content, etag, lastModified}) {
+                writeString(out, field);
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize scraped page", e);
+        }
+    }
+
+    /**
+     * Reads an entry written by {@link #serialize()}; returns null for an unknown format version.
+     */
+    static ScrapedPage deserialize(ByteBuffer buffer) {
+        if (buffer.getInt() != FORMAT_VERSION) return null;
+        long fetchedAt = buffer.getLong();
+        return new ScrapedPage(readString(buffer), readString(buffer), readString(buffer), readString(buffer),
+                readString(buffer), readString(buffer), readString(buffer), readString(buffer), readString(buffer),
+                fetchedAt);
+    }
+
+    // Length-prefixed UTF-8 (-1 for null); DataOutput.writeUTF is capped at 64KB
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    public String getUrl() { return url; }
+    public String getTitle() { return title; }
+    public String getDomain() { return domain; }
+    public String getDescription() { return description; }
+    public String getAuthor() { return author; }
+    public String getPublishDate() { return publishDate; }
+    public String getContent() { return content; }
+    public String getEtag() { return etag; }
+    public String getLastModified() { return lastModified; }
+    public long getFetchedAtMillis() { return fetchedAtMillis; }
+}
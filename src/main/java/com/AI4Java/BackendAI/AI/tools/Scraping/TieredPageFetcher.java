@@ -0,0 +1,126 @@
+package com.AI4Java.BackendAI.AI.tools.Scraping;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Fetches a page over plain HTTP first and only falls back to a headless browser when the
+ * response is unusable or looks like a JS-rendered shell. A domain whose HTTP response was a
+ * JS shell is remembered for {@code scrape.fetch.tier-memory-ttl}, so its later pages skip the
+ * HTTP attempt; a failed response (404, timeout, PDF, ...) says nothing about the domain's other
+ * pages and is not remembered.
+ */
+@Component
+public class TieredPageFetcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(TieredPageFetcher.class);
+
+    private static final int MAX_REMEMBERED_DOMAINS = 10_000;
+
+    public enum Tier { HTTP, BROWSER }
+
+    /**
+     * Browser fetch supplied by the calling tool; returns the rendered HTML.
+     */
+    @FunctionalInterface
+    public interface BrowserFetch<E extends Exception> {
+        String fetch(String url) throws E;
+    }
+
+    private final HttpPageFetcher httpFetcher;
+    private final boolean httpFirst;
+    private final Cache<String, Tier> tierByDomain;
+
+    private final Counter httpServed;
+    private final Counter browserServed;
+    private final Counter browserRemembered;
+    private final Counter escalatedShell;
+    private final Counter escalatedHttpFailure;
+
+    public TieredPageFetcher(HttpPageFetcher httpFetcher, MeterRegistry meterRegistry,
+                             @Value("${scrape.fetch.http-first:true}") boolean httpFirst,
+                             @Value("${scrape.fetch.tier-memory-ttl:6h}") Duration tierMemoryTtl) {
+        this.httpFetcher = httpFetcher;
+        this.httpFirst = httpFirst;
+        this.tierByDomain = Caffeine.newBuilder()
+                .maximumSize(MAX_REMEMBERED_DOMAINS)
+                .expireAfterWrite(tierMemoryTtl)
+                .build();
+
+        this.httpServed = Counter.builder("scrape.fetch.served").tag("tier", "http").register(meterRegistry);
+        this.browserServed = Counter.builder("scrape.fetch.served").tag("tier", "browser").register(meterRegistry);
+        this.browserRemembered = Counter.builder("scrape.fetch.http.skipped")
+                .description("Fetches sent straight to the browser because the domain needed it before")
+                .register(meterRegistry);
+        this.escalatedShell = Counter.builder("scrape.fetch.escalations").tag("reason", "js_shell")
+                .register(meterRegistry);
+        this.escalatedHttpFailure = Counter.builder("scrape.fetch.escalations").tag("reason", "http_failure")
+                .register(meterRegistry);
+        Gauge.builder("scrape.fetch.domains", tierByDomain, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    public <E extends Exception> FetchedPage fetch(String url, BrowserFetch<E> browserFetch) throws E {
+        String domain = domainOf(url);
+        Tier known = domain != null ? tierByDomain.getIfPresent(domain) : null;
+
+        String shellReason = null;
+        if (httpFirst && known != Tier.BROWSER) {
+            HttpPageFetcher.Result result = httpFetcher.fetch(url);
+            shellReason = result.isOk() ? JsShellDetector.shellReason(result.getPage().getHtml()) : null;
+            if (result.isOk() && shellReason == null) {
+                remember(domain, Tier.HTTP);
+                httpServed.increment();
+                logger.debug("Fetched {} over HTTP", url);
+                return result.getPage();
+            }
+
+            if (shellReason != null) {
+                escalatedShell.increment();
+                logger.debug("HTTP response for {} looks like a JS shell ({}), using browser", url, shellReason);
+            } else {
+                escalatedHttpFailure.increment();
+                logger.debug("HTTP fetch of {} fell short ({}), using browser", url, result.getFailure());
+            }
+        } else if (known == Tier.BROWSER) {
+            browserRemembered.increment();
+        }
+
+        String html = browserFetch.fetch(url);
+        // Only written after a JS shell, so the entry expires and HTTP is retried later
+        if (shellReason != null) remember(domain, Tier.BROWSER);
+        browserServed.increment();
+        return new FetchedPage(html, null, null);
+    }
+
+    /**
+     * Conditional GET for a stale page that came over HTTP; true when the origin answered
+     * "not modified", so the cached copy can be served again.
+     */
+    public boolean isUnchanged(String url, ScrapedPage stale) {
+        return stale.hasValidators() && httpFetcher.fetch(url, stale).isNotModified();
+    }
+
+    private void remember(String domain, Tier tier) {
+        if (domain != null) tierByDomain.put(domain, tier);
+    }
+
+    private static String domainOf(String url) {
+        try {
+            String host = URI.create(url.trim()).getHost();
+            return host != null ? host.toLowerCase(Locale.ROOT) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
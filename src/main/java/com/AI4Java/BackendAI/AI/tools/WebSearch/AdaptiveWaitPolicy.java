@@ -0,0 +1,103 @@
+package com.AI4Java.BackendAI.AI.tools.WebSearch;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wait settings shared by the browser search tools. Instead of a fixed sleep, tools wait for
+ * the result selector and a quiet DOM, record how long that took per engine, and then add a
+ * small jitter sampled from that engine's recent ready-latencies.
+ */
+@Component
+public class AdaptiveWaitPolicy {
+
+    // Recent latencies kept per engine
+    private static final int LATENCY_WINDOW = 32;
+
+    private final Duration quietPeriod;
+    private final Duration stabilityTimeout;
+    private final double jitterFraction;
+    private final Duration minJitter;
+    private final Duration maxJitter;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    public AdaptiveWaitPolicy(MeterRegistry meterRegistry,
+                              @Value("${browser.search.wait.quiet-period:300ms}") Duration quietPeriod,
+                              @Value("${browser.search.wait.stability-timeout:2s}") Duration stabilityTimeout,
+                              @Value("${browser.search.wait.jitter-fraction:0.15}") double jitterFraction,
+                              @Value("${browser.search.wait.min-jitter:50ms}") Duration minJitter,
+                              @Value("${browser.search.wait.max-jitter:750ms}") Duration maxJitter) {
+        this.meterRegistry = meterRegistry;
+        this.quietPeriod = quietPeriod;
+        this.stabilityTimeout = stabilityTimeout;
+        this.jitterFraction = Math.max(0, jitterFraction);
+        this.minJitter = minJitter;
+        this.maxJitter = maxJitter.compareTo(minJitter) < 0 ? minJitter : maxJitter;
+    }
+
+    public long quietPeriodMs() {
+        return quietPeriod.toMillis();
+    }
+
+    public long stabilityTimeoutMs() {
+        return stabilityTimeout.toMillis();
+    }
+
+    /**
+     * Records the time from navigation until results were ready and the DOM settled.
+     */
+    public void recordReady(String engine, long readyMs) {
+        latencies.computeIfAbsent(engine, this::newWindow).add(readyMs);
+    }
+
+    /**
+     * Jitter for the next search on {@code engine}: a random recent ready-latency scaled by
+     * the jitter fraction, clamped to [min-jitter, max-jitter].
+     */
+    public long jitterMs(String engine) {
+        LatencyWindow window = latencies.get(engine);
+        long sample = window == null ? 0 : window.sample();
+        long jitter = Math.round(sample * jitterFraction * ThreadLocalRandom.current().nextDouble());
+        return Math.max(minJitter.toMillis(), Math.min(maxJitter.toMillis(), jitter));
+    }
+
+    private LatencyWindow newWindow(String engine) {
+        Timer timer = Timer.builder("browser.search.ready")
+                .description("Time from navigation until search results were ready and stable")
+                .tag("engine", engine)
+                .register(meterRegistry);
+        return new LatencyWindow(timer);
+    }
+
+    private static class LatencyWindow {
+        private final long[] samples = new long[LATENCY_WINDOW];
+        private final Timer timer;
+        private int next;
+        private int size;
+
+        LatencyWindow(Timer timer) {
+            this.timer = timer;
+        }
+
+        synchronized void add(long readyMs) {
+            samples[next] = readyMs;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+            timer.record(readyMs, TimeUnit.MILLISECONDS);
+        }
+
+        synchronized long sample() {
+            return size == 0 ? 0 : samples[ThreadLocalRandom.current().nextInt(size)];
+        }
+    }
+}
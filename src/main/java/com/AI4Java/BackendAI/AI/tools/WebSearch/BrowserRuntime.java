@@ -0,0 +1,88 @@
+package com.AI4Java.BackendAI.AI.tools.WebSearch;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single owner of every headless browser process used by the browser tools. Playwright pages
+ * and Selenium drivers are only started when a tool first leases one, and are shut down again
+ * once they have been idle for {@code browser.runtime.idle-timeout}, so nothing stays resident
+ * while no tool is using a browser.
+ */
+@Component
+public class BrowserRuntime {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserRuntime.class);
+
+    // Upper bound on how often idle browsers are looked for
+    private static final Duration MAX_REAP_INTERVAL = Duration.ofSeconds(30);
+
+    private final PlaywrightPagePool playwrightPool;
+    private final SeleniumDriverPool seleniumPool;
+    private final Duration idleTimeout;
+    private final ScheduledExecutorService reaper =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("browser-runtime-reaper-"));
+
+    public BrowserRuntime(MeterRegistry meterRegistry,
+                          @Value("${browser.playwright.pool.size:2}") int playwrightPoolSize,
+                          @Value("${browser.playwright.pool.max-uses:50}") int playwrightMaxUses,
+                          @Value("${browser.playwright.pool.lease-timeout:30s}") Duration playwrightLeaseTimeout,
+                          @Value("${browser.selenium.pool.size:2}") int seleniumPoolSize,
+                          @Value("${browser.selenium.pool.max-age:30m}") Duration seleniumMaxAge,
+                          @Value("${browser.selenium.pool.lease-timeout:30s}") Duration seleniumLeaseTimeout,
+                          @Value("${browser.runtime.idle-timeout:5m}") Duration idleTimeout) {
+        this.playwrightPool = new PlaywrightPagePool(meterRegistry, playwrightPoolSize, playwrightMaxUses,
+                playwrightLeaseTimeout);
+        this.seleniumPool = new SeleniumDriverPool(meterRegistry, seleniumPoolSize, seleniumMaxAge,
+                seleniumLeaseTimeout);
+        this.idleTimeout = idleTimeout;
+
+        long reapIntervalMs = Math.max(1000, Math.min(idleTimeout.toMillis() / 2, MAX_REAP_INTERVAL.toMillis()));
+        reaper.scheduleWithFixedDelay(this::closeIdleBrowsers, reapIntervalMs, reapIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Leases a Playwright page, starting a browser for it if none is idle.
+     */
+    public PlaywrightPagePool.Lease leasePage() throws InterruptedException, TimeoutException {
+        return playwrightPool.lease();
+    }
+
+    /**
+     * Leases a ChromeDriver, starting Chrome for it if none is idle.
+     */
+    public SeleniumDriverPool.Lease leaseDriver() throws InterruptedException, TimeoutException {
+        return seleniumPool.lease();
+    }
+
+    private void closeIdleBrowsers() {
+        try {
+            int pages = playwrightPool.closeIdle(idleTimeout);
+            int drivers = seleniumPool.closeIdle(idleTimeout);
+            if (pages + drivers > 0) {
+                logger.info("Closed idle browsers: {} Playwright page(s), {} Selenium driver(s)", pages, drivers);
+            }
+        } catch (Exception e) {
+            logger.warn("Error closing idle browsers: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        logger.info("Shutting down browser runtime");
+        reaper.shutdownNow();
+        playwrightPool.shutdown();
+        seleniumPool.shutdown();
+    }
+}
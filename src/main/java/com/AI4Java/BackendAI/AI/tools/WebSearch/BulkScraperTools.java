@@ -0,0 +1,248 @@
+package com.AI4Java.BackendAI.AI.tools.WebSearch;
+
+import com.AI4Java.BackendAI.AI.tools.Scraping.ScrapeCache;
+import com.AI4Java.BackendAI.AI.tools.Scraping.ScrapedPage;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scrapes several pages in one tool call, so research over a handful of search results costs
+ * one LLM round-trip instead of one per page. Pages are fetched concurrently through the same
+ * cache and HTTP-first/browser pipeline as {@code scrape_webpage_playwright}, at most
+ * {@code per-host-concurrency} at a time per host, and whatever has finished by the deadline
+ * is returned.
+ */
+@Service
+public class BulkScraperTools {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkScraperTools.class);
+
+    // Request Configuration
+    private static final int MAX_URLS = 10;
+
+    // Content Configuration
+    private static final int MAX_CHARS_PER_PAGE = 1500;
+    private static final int MAX_TOTAL_CHARS = 12000;
+    private static final int MIN_CHARS_PER_PAGE = 300;
+
+    @Autowired
+    private PlaywrightWebScraperTools playwrightWebScraperTools;
+
+    @Value("${scrape.many.per-host-concurrency:2}")
+    private int perHostConcurrency;
+
+    @Value("${scrape.many.timeout:45s}")
+    private Duration timeout;
+
+    private final ExecutorService scrapeExecutor =
+            Executors.newCachedThreadPool(new CustomizableThreadFactory("scrape-many-"));
+    private final AtomicLong requestCount = new AtomicLong(0);
+
+    @PreDestroy
+    public void cleanup() {
+        scrapeExecutor.shutdownNow();
+        logger.info("Bulk scraper tool stopped. Total requests: {}", requestCount.get());
+    }
+
+    @Tool(name = "scrape_many",
+            description = "Scrapes up to " + MAX_URLS + " webpages concurrently in a single call and returns the " +
+                    "title and truncated main content of each. Prefer this over calling scrape_webpage " +
+                    "repeatedly when several search results need to be read.")
+    public String scrape_many(@ToolParam(description = "List of full http/https URLs to scrape") List<String> urls) {
+        long requestId = requestCount.incrementAndGet();
+
+        if (urls == null || urls.isEmpty()) {
+            return "❌ Please provide at least one URL to scrape.";
+        }
+
+        // Duplicate links (tracking params, trailing slashes, fragments) are fetched once
+        Map<String, String> urlByKey = new LinkedHashMap<>();
+        List<String> rejected = new ArrayList<>();
+        for (String url : urls) {
+            if (!isValidUrl(url)) {
+                rejected.add(url);
+                continue;
+            }
+            urlByKey.putIfAbsent(ScrapeCache.normalizeUrl(url), url.trim());
+        }
+        List<String> targets = new ArrayList<>(urlByKey.values());
+        if (targets.size() > MAX_URLS) {
+            logger.debug("Bulk scrape #{} truncated from {} to {} URLs", requestId, targets.size(), MAX_URLS);
+            targets = targets.subList(0, MAX_URLS);
+        }
+        if (targets.isEmpty()) {
+            return "❌ None of the provided URLs are valid http/https URLs.";
+        }
+
+        logger.debug("Starting bulk scrape #{} for {} URL(s)", requestId, targets.size());
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + timeout.toNanos();
+
+        Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+        List<Callable<ScrapedPage>> tasks = new ArrayList<>();
+        for (String url : targets) {
+            Semaphore permits = hostPermits.computeIfAbsent(hostOf(url), host -> new Semaphore(perHostConcurrency));
+            tasks.add(() -> scrapeWithHostLimit(url, permits, deadline));
+        }
+
+        List<PageOutcome> outcomes = new ArrayList<>();
+        try {
+            // Tasks still running at the deadline are cancelled
+            List<Future<ScrapedPage>> futures = scrapeExecutor.invokeAll(tasks, timeout.toNanos(), TimeUnit.NANOSECONDS);
+            for (int i = 0; i < futures.size(); i++) {
+                outcomes.add(PageOutcome.of(targets.get(i), futures.get(i)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "❌ Bulk scrape was interrupted.";
+        }
+
+        long succeeded = outcomes.stream().filter(outcome -> outcome.page != null).count();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        logger.info("Bulk scrape #{} completed: {}/{} pages in {}ms", requestId, succeeded, outcomes.size(), elapsedMs);
+
+        if (succeeded == 0) {
+            return "❌ Failed to scrape any of the " + outcomes.size() + " pages." +
+                    (rejected.isEmpty() ? "" : " Invalid URLs skipped: " + rejected.size());
+        }
+        return formatResults(outcomes, rejected, succeeded, elapsedMs);
+    }
+
+    private ScrapedPage scrapeWithHostLimit(String url, Semaphore permits, long deadline) throws Exception {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0 || !permits.tryAcquire(remaining, TimeUnit.NANOSECONDS)) {
+            throw new TimeoutException("Timed out waiting for other pages on the same host");
+        }
+        try {
+            return playwrightWebScraperTools.loadPage(url, true);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private String formatResults(List<PageOutcome> outcomes, List<String> rejected, long succeeded, long elapsedMs) {
+        // Share the character budget between pages that actually have content
+        int charsPerPage = (int) Math.max(MIN_CHARS_PER_PAGE, Math.min(MAX_CHARS_PER_PAGE, MAX_TOTAL_CHARS / succeeded));
+
+        StringBuilder result = new StringBuilder();
+        result.append(String.format("📚 **Bulk Scrape Results** (%d/%d pages in %.1fs)\n\n",
+                succeeded, outcomes.size(), elapsedMs / 1000.0));
+
+        // Mirrors and redirects to the same article are shown once
+        Map<String, Integer> indexByContentHash = new HashMap<>();
+        for (int i = 0; i < outcomes.size(); i++) {
+            PageOutcome outcome = outcomes.get(i);
+            int index = i + 1;
+
+            if (outcome.page == null) {
+                result.append(String.format("**%d.** ⚠️ %s\n%s\n\n", index, outcome.url, outcome.error));
+                continue;
+            }
+
+            ScrapedPage page = outcome.page;
+            String title = page.getTitle().isEmpty() ? "No title found" : page.getTitle();
+            result.append(String.format("**%d. %s**\n🔗 %s\n", index, title, outcome.url));
+
+            Integer duplicateOf = indexByContentHash.putIfAbsent(contentHash(page.getContent()), index);
+            if (duplicateOf != null) {
+                result.append("🔁 Same content as #").append(duplicateOf).append("\n\n");
+                continue;
+            }
+            if (!page.getDescription().isEmpty()) {
+                result.append("📋 ").append(page.getDescription()).append("\n");
+            }
+            result.append(truncateContent(page.getContent(), charsPerPage)).append("\n\n");
+        }
+
+        if (!rejected.isEmpty()) {
+            result.append("⚠️ Skipped invalid URLs: ").append(String.join(", ", rejected)).append("\n");
+        }
+        return result.toString();
+    }
+
+    private static boolean isValidUrl(String url) {
+        if (url == null || url.isBlank()) return false;
+        try {
+            URI uri = new URI(url.trim());
+            String scheme = uri.getScheme();
+            return ("http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme))
+                    && uri.getHost() != null && !uri.getHost().isBlank();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static String hostOf(String url) {
+        return URI.create(url).getHost().toLowerCase(Locale.ROOT);
+    }
+
+    private static String truncateContent(String content, int maxLength) {
+        if (content == null || content.trim().isEmpty()) {
+            return "No content found";
+        }
+
+        content = content.trim();
+        if (content.length() <= maxLength) {
+            return content;
+        }
+
+        int lastSpace = content.lastIndexOf(' ', maxLength);
+        return content.substring(0, lastSpace > maxLength / 2 ? lastSpace : maxLength) + "...";
+    }
+
+    private static String contentHash(String content) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(md.digest(content.trim().getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            return content;
+        }
+    }
+
+    // Helper classes
+    private static class PageOutcome {
+        final String url;
+        final ScrapedPage page;
+        final String error;
+
+        private PageOutcome(String url, ScrapedPage page, String error) {
+            this.url = url;
+            this.page = page;
+            this.error = error;
+        }
+
+        static PageOutcome of(String url, Future<ScrapedPage> future) {
+            if (future.isCancelled()) {
+                return new PageOutcome(url, null, "⏳ Not finished before the deadline");
+            }
+            try {
+                return new PageOutcome(url, future.get(), null);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                String message = cause instanceof TimeoutException ? "⏳ " + cause.getMessage()
+                        : "Failed: " + cause.getMessage();
+                return new PageOutcome(url, null, message);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new PageOutcome(url, null, "Interrupted");
+            } catch (CancellationException e) {
+                return new PageOutcome(url, null, "⏳ Not finished before the deadline");
+            }
+        }
+    }
+}
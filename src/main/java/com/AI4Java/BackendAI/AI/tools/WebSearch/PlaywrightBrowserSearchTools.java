@@ -8,33 +8,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
-import org.springframework.context.ApplicationListener;
-import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
 import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.security.SecureRandom;
-import java.util.concurrent.CompletableFuture;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicLong;
 
 @Service
-public class PlaywrightBrowserSearchTools implements ApplicationListener<ContextRefreshedEvent> {
+public class PlaywrightBrowserSearchTools {
 
     private static final Logger logger = LoggerFactory.getLogger(PlaywrightBrowserSearchTools.class);
 
-    // Browser Configuration
-    private static final int VIEWPORT_WIDTH = 1920;
-    private static final int VIEWPORT_HEIGHT = 1080;
-    private static final boolean BROWSER_HEADLESS = true;
-
     // Timing Configuration
-    private static final int BASE_WAIT_TIME_MS = 3000;
-    private static final int RANDOM_WAIT_TIME_MS = 2000;
     private static final long SELECTOR_TIMEOUT_MS = 5000;
-    private static final int BROWSER_LAUNCH_TIMEOUT_MS = 30000;
 
     // Search Configuration
     private static final int MAX_DUCKDUCKGO_RESULTS = 8;
@@ -44,15 +37,12 @@ public class PlaywrightBrowserSearchTools implements ApplicationListener<Context
     private static final int URL_DISPLAY_MAX_LENGTH = 100;
     private static final int URL_SUFFIX_LENGTH = 100;
     private static final int TRUNCATE_THRESHOLD = 1200;
+    private static final int MAX_MERGED_RESULTS = 10;
 
     // Search Engine URLs
     private static final String DUCKDUCKGO_URL_TEMPLATE = "https://duckduckgo.com/?q=%s&t=h_&ia=web";
     private static final String BING_URL_TEMPLATE = "https://www.bing.com/search?q=%s&form=QBLH";
 
-    // Stealth Configuration
-    private static final int MIN_PLUGIN_COUNT = 3;
-    private static final int MAX_PLUGIN_COUNT = 8;
-
     // Search Engine Configuration Map
     private static final Map<String, SearchEngineConfig> SEARCH_ENGINES = Map.of(
             "duckduckgo", new SearchEngineConfig(
@@ -95,99 +85,37 @@ public class PlaywrightBrowserSearchTools implements ApplicationListener<Context
     // Default search engine order
     private static final List<String> DEFAULT_SEARCH_ORDER = List.of("duckduckgo", "bing");
 
-    // User Agents Pool
-    private static final List<String> USER_AGENTS = List.of(
-            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36",
-            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.114 Safari/537.36",
-            "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.101 Safari/537.36",
-            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36",
-            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36",
-            "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:109.0) Gecko/20100101 Firefox/115.0",
-            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10.15; rv:109.0) Gecko/20100101 Firefox/115.0",
-            "Mozilla/5.0 (X11; Ubuntu; Linux x86_64; rv:109.0) Gecko/20100101 Firefox/115.0",
-            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/16.6 Safari/605.1.15",
-            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/118.0.0.0 Safari/537.36 Edg/118.0.2088.76"
-    );
-
-    // Accept-Language header variations
-    private static final List<String> ACCEPT_LANGUAGES = List.of(
-            "en-US,en;q=0.9",
-            "en-US,en;q=0.9,es;q=0.8",
-            "en-GB,en;q=0.9,en-US;q=0.8"
-    );
-
-    // Browser launch arguments
-    private static final List<String> BROWSER_ARGS = List.of(
-            "--no-sandbox",
-            "--disable-dev-shm-usage",
-            "--disable-gpu",
-            "--disable-blink-features=AutomationControlled",
-            "--disable-extensions",
-            "--no-first-run",
-            "--disable-default-apps",
-            "--disable-infobars",
-            "--window-size=" + VIEWPORT_WIDTH + "," + VIEWPORT_HEIGHT,
-            "--memory-pressure-off",
-            "--max_old_space_size=4096",
-            "--disable-background-networking"
-    );
-
-    // Resource blocking patterns
-    private static final String BLOCKED_RESOURCES = "**/*.{png,jpg,jpeg,gif,svg,woff,woff2}";
-
-    // HTTP Headers
-    private static final String ACCEPT_HEADER = "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8";
-    private static final String ACCEPT_ENCODING_HEADER = "gzip, deflate, br";
-    private static final String DNT_HEADER = "1";
-    private static final String CONNECTION_HEADER = "keep-alive";
-    private static final String UPGRADE_INSECURE_REQUESTS_HEADER = "1";
-
-    // Stealth script template
-    private static final String STEALTH_SCRIPT_TEMPLATE = "() => { " +
-            "delete navigator.__proto__.webdriver;" +
-            "Object.defineProperty(navigator, 'plugins', {get: () => Array.from({length: %d}, () => ({}))});" +
-            "Object.defineProperty(navigator, 'languages', {get: () => ['en-US', 'en']});" +
-            "Object.defineProperty(navigator, 'permissions', {get: () => ({query: () => Promise.resolve({state: 'granted'})})});" +
-            "window.chrome = {runtime: {}, loadTimes: () => ({}), csi: () => ({})};" +
-            "}";
+    // Resolves once no DOM mutations were seen for quietMs, or false after timeoutMs
+    private static final String DOM_QUIET_SCRIPT = "([quietMs, timeoutMs]) => new Promise(resolve => {" +
+            "let quietTimer;" +
+            "const observer = new MutationObserver(() => { clearTimeout(quietTimer); quietTimer = setTimeout(finish, quietMs, true); });" +
+            "const capTimer = setTimeout(finish, timeoutMs, false);" +
+            "function finish(stable) { observer.disconnect(); clearTimeout(quietTimer); clearTimeout(capTimer); resolve(stable); }" +
+            "observer.observe(document.documentElement, {childList: true, subtree: true});" +
+            "quietTimer = setTimeout(finish, quietMs, true);" +
+            "})";
 
     // Instance variables
-    private volatile Playwright playwright;
-    private volatile Browser browser;
-    private final SecureRandom random = new SecureRandom();
+    @Autowired
+    private BrowserRuntime browserRuntime;
+    @Autowired
+    private AdaptiveWaitPolicy waitPolicy;
     private final AtomicLong searchCount = new AtomicLong(0);
+    private final ExecutorService searchExecutor =
+            Executors.newCachedThreadPool(new CustomizableThreadFactory("playwright-search-"));
 
-    @Override
-    public void onApplicationEvent(ContextRefreshedEvent event) {
-        CompletableFuture.runAsync(this::initializeBrowserAsync);
-    }
-
-    public void initializeBrowserAsync() {
-        logger.info("Initializing Playwright browser search tool asynchronously...");
-        try {
-            playwright = Playwright.create();
-            browser = playwright.chromium().launch(new BrowserType.LaunchOptions()
-                    .setHeadless(BROWSER_HEADLESS)
-                    .setTimeout(BROWSER_LAUNCH_TIMEOUT_MS)
-                    .setArgs(BROWSER_ARGS)
-            );
-            logger.info("Playwright browser initialized successfully. Available engines: {}",
-                    String.join(", ", SEARCH_ENGINES.keySet()));
-        } catch (Exception e) {
-            logger.error("Asynchronous Playwright browser initialization failed.", e);
-        }
-    }
+    // Parallel mode: every engine on its own pooled page, merged by normalized URL
+    @Value("${browser.search.parallel.enabled:false}")
+    private boolean parallelEnabled;
+    @Value("${browser.search.parallel.min-results:5}")
+    private int parallelMinResults;
+    @Value("${browser.search.parallel.timeout:20s}")
+    private Duration parallelTimeout;
 
     @PreDestroy
     public void cleanup() {
-        logger.info("Shutting down Playwright browser search tool");
-        try {
-            if (browser != null) browser.close();
-            if (playwright != null) playwright.close();
-            logger.info("Playwright resources cleaned up successfully. Total searches: {}", searchCount.get());
-        } catch (Exception e) {
-            logger.error("Error during cleanup", e);
-        }
+        searchExecutor.shutdownNow();
+        logger.info("Playwright browser search tool stopped. Total searches: {}", searchCount.get());
     }
 
     @Tool(name = "browser_search_playwright",
@@ -197,11 +125,6 @@ public class PlaywrightBrowserSearchTools implements ApplicationListener<Context
             @ToolParam(description = "Search query") String query,
             @ToolParam(description = "Preferred search engine: 'duckduckgo' or 'bing' (optional)", required = false) String engine) {
 
-        if (browser == null) {
-            logger.warn("Playwright browser is not yet initialized. Please try again in a moment.");
-            return "⏳ The browser is warming up. Please try again in a few moments.";
-        }
-
         long searchId = searchCount.incrementAndGet();
         logger.debug("Starting browser search #{} for query: '{}' with engine preference: '{}'",
                 searchId, query, engine);
@@ -213,31 +136,33 @@ public class PlaywrightBrowserSearchTools implements ApplicationListener<Context
             return "❌ " + request.getErrorMessage();
         }
 
-        BrowserContext context = null;
-        try {
-            String userAgent = getRandomUserAgent();
-
-            context = browser.newContext(new Browser.NewContextOptions()
-                    .setUserAgent(userAgent)
-                    .setViewportSize(VIEWPORT_WIDTH, VIEWPORT_HEIGHT)
-                    .setJavaScriptEnabled(true)
-                    .setExtraHTTPHeaders(createHeaders())
-            );
-
-            Page page = context.newPage();
-            configurePageStealth(page);
-            setupResourceBlocking(page);
+        if (parallelEnabled && request.getPreferredEngine() == null) {
+            String result = searchAllEnginesInParallel(request, searchId);
+            logger.info("Parallel browser search #{} completed", searchId);
+            return result;
+        }
 
-            String result = searchWithMultipleEngines(page, request, searchId);
+        // Pages come pre-warmed with user agent, headers, stealth script and resource blocking
+        try (PlaywrightPagePool.Lease lease = browserRuntime.leasePage()) {
+            try {
+                String result = searchWithMultipleEngines(lease.page(), request, searchId);
 
-            logger.info("Browser search #{} completed successfully", searchId);
-            return result;
+                logger.info("Browser search #{} completed successfully", searchId);
+                return result;
+            } catch (RuntimeException e) {
+                lease.markBroken();
+                throw e;
+            }
 
+        } catch (TimeoutException e) {
+            logger.warn("Browser search #{} could not get a page: {}", searchId, e.getMessage());
+            return "⏳ All browser pages are busy. Please try again in a few moments.";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "❌ Search was interrupted. Please try again.";
         } catch (Exception e) {
             logger.error("Browser search #{} failed: {}", searchId, e.getMessage());
             return "❌ Search failed due to technical issues. Please try again.";
-        } finally {
-            if (context != null) context.close();
         }
     }
 
@@ -299,6 +224,56 @@ public class PlaywrightBrowserSearchTools implements ApplicationListener<Context
                 "❌ No results found from any search engine for: " + request.getQuery();
     }
 
+    private String searchAllEnginesInParallel(SearchRequest request, long searchId) {
+        Map<String, Callable<List<SearchFanOut.Hit>>> engineSearches = new LinkedHashMap<>();
+        for (String engineKey : DEFAULT_SEARCH_ORDER) {
+            SearchEngineConfig config = SEARCH_ENGINES.get(engineKey);
+            engineSearches.put(config.name, () -> searchOnPooledPage(request.getQuery(), config, searchId));
+        }
+
+        List<SearchFanOut.FusedResult> merged =
+                SearchFanOut.run(searchExecutor, engineSearches, parallelMinResults, parallelTimeout);
+        logger.debug("Parallel search #{} merged {} distinct results", searchId, merged.size());
+
+        return merged.isEmpty() ? "❌ No results found from any search engine for: " + request.getQuery() :
+                formatMergedResults(request.getQuery(), merged);
+    }
+
+    private List<SearchFanOut.Hit> searchOnPooledPage(String query, SearchEngineConfig config, long searchId)
+            throws Exception {
+        try (PlaywrightPagePool.Lease lease = browserRuntime.leasePage()) {
+            try {
+                return performSearchWithEngine(lease.page(), query, config, searchId).toHits();
+            } catch (Exception e) {
+                // A cancelled search may leave the page mid-navigation
+                if (e instanceof RuntimeException || Thread.currentThread().isInterrupted()) {
+                    lease.markBroken();
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static String formatMergedResults(String query, List<SearchFanOut.FusedResult> merged) {
+        StringBuilder result = new StringBuilder();
+        result.append("🔀 **Merged Results for: ").append(query).append("** ");
+
+        for (int i = 0; i < Math.min(merged.size(), MAX_MERGED_RESULTS); i++) {
+            SearchFanOut.FusedResult fused = merged.get(i);
+            SearchFanOut.Hit hit = fused.getHit();
+            result.append("**").append(i + 1).append(". ").append(hit.title).append("** ");
+
+            if (!hit.snippet.isEmpty()) {
+                result.append("📝 ").append(hit.snippet).append(" ");
+            }
+
+            result.append("🔗 ").append(shortenUrl(hit.link))
+                    .append(" (").append(String.join(", ", fused.getEngines())).append(") ");
+        }
+
+        return result.toString();
+    }
+
     private List<String> determineSearchOrder(String preferredEngine) {
         List<String> order = new ArrayList<>();
 
@@ -324,17 +299,20 @@ public class PlaywrightBrowserSearchTools implements ApplicationListener<Context
             String searchUrl = String.format(config.urlTemplate, encodedQuery);
 
             logger.debug("Navigating to {} for search #{}", config.name, searchId);
+            long navigationStart = System.currentTimeMillis();
             page.navigate(searchUrl, new Page.NavigateOptions().setWaitUntil(WaitUntilState.DOMCONTENTLOADED));
 
-            // Random wait time (different for different engines)
-            int waitTime = BASE_WAIT_TIME_MS + random.nextInt(RANDOM_WAIT_TIME_MS);
-            if ("bing".equals(config.name.toLowerCase())) {
-                waitTime += 500; // Bing needs a bit more time
+            // Wait for results to render and the DOM to settle instead of a fixed sleep
+            String readySelector = waitForResultSelector(page, config);
+            if (readySelector == null) {
+                return SearchEngineResult.empty(config.name, query);
             }
-            page.waitForTimeout(waitTime);
+            waitForDomQuiet(page);
+            waitPolicy.recordReady(config.name, System.currentTimeMillis() - navigationStart);
+            page.waitForTimeout(waitPolicy.jitterMs(config.name));
 
-            List<ElementHandle> results = findSearchResults(page, config);
-            if (results == null || results.isEmpty()) {
+            List<ElementHandle> results = page.querySelectorAll(readySelector);
+            if (results.isEmpty()) {
                 return SearchEngineResult.empty(config.name, query);
             }
 
@@ -348,27 +326,27 @@ public class PlaywrightBrowserSearchTools implements ApplicationListener<Context
         }
     }
 
-    private List<ElementHandle> findSearchResults(Page page, SearchEngineConfig config) {
-        List<ElementHandle> results = null;
-
+    private String waitForResultSelector(Page page, SearchEngineConfig config) {
         for (String selector : config.resultSelectors) {
             try {
                 page.waitForSelector(selector, new Page.WaitForSelectorOptions()
                         .setTimeout(SELECTOR_TIMEOUT_MS)
                         .setState(WaitForSelectorState.VISIBLE));
-                results = page.querySelectorAll(selector);
-                if (!results.isEmpty()) {
-                    logger.debug("Found {} results using {} selector: {}",
-                            results.size(), config.name, selector);
-                    break;
-                }
+                logger.debug("{} results ready using selector: {}", config.name, selector);
+                return selector;
             } catch (TimeoutError e) {
                 logger.debug("{} selector {} timed out, trying next", config.name, selector);
-                continue;
             }
         }
+        return null;
+    }
 
-        return results != null ? results : Collections.emptyList();
+    private void waitForDomQuiet(Page page) {
+        Object stable = page.evaluate(DOM_QUIET_SCRIPT,
+                List.of(waitPolicy.quietPeriodMs(), waitPolicy.stabilityTimeoutMs()));
+        if (!Boolean.TRUE.equals(stable)) {
+            logger.debug("DOM did not settle within {}ms, extracting anyway", waitPolicy.stabilityTimeoutMs());
+        }
     }
 
     private List<SearchResultData> extractSearchResults(List<ElementHandle> results, SearchEngineConfig config) {
@@ -414,35 +392,6 @@ public class PlaywrightBrowserSearchTools implements ApplicationListener<Context
         return SearchResultData.invalid();
     }
 
-    private String getRandomUserAgent() {
-        String selectedAgent = USER_AGENTS.get(random.nextInt(USER_AGENTS.size()));
-        logger.debug("Selected user agent: {}...", selectedAgent.substring(0, Math.min(50, selectedAgent.length())));
-        return selectedAgent;
-    }
-
-    private Map<String, String> createHeaders() {
-        String acceptLanguage = ACCEPT_LANGUAGES.get(random.nextInt(ACCEPT_LANGUAGES.size()));
-
-        return Map.of(
-                "Accept", ACCEPT_HEADER,
-                "Accept-Language", acceptLanguage,
-                "Accept-Encoding", ACCEPT_ENCODING_HEADER,
-                "DNT", DNT_HEADER,
-                "Connection", CONNECTION_HEADER,
-                "Upgrade-Insecure-Requests", UPGRADE_INSECURE_REQUESTS_HEADER
-        );
-    }
-
-    private void configurePageStealth(Page page) {
-        int pluginCount = MIN_PLUGIN_COUNT + random.nextInt(MAX_PLUGIN_COUNT - MIN_PLUGIN_COUNT + 1);
-        String stealthScript = String.format(STEALTH_SCRIPT_TEMPLATE, pluginCount);
-        page.addInitScript(stealthScript);
-    }
-
-    private void setupResourceBlocking(Page page) {
-        page.route(BLOCKED_RESOURCES, route -> route.abort());
-    }
-
     private static String truncateText(String text, int maxLength) {
         if (text == null || text.length() <= maxLength) return text;
 
@@ -568,6 +517,15 @@ public class PlaywrightBrowserSearchTools implements ApplicationListener<Context
             return items.size();
         }
 
+        List<SearchFanOut.Hit> toHits() {
+            List<SearchFanOut.Hit> hits = new ArrayList<>();
+            for (SearchResultData item : items) {
+                hits.add(new SearchFanOut.Hit(engineName, item.title, item.link,
+                        truncateText(item.snippet, config.snippetLength)));
+            }
+            return hits;
+        }
+
         String getFormattedResults() {
             if (items.isEmpty()) {
                 return "";
@@ -599,15 +557,3 @@ public class PlaywrightBrowserSearchTools implements ApplicationListener<Context
         }
     }
 }
-
-
-
-
-
-
-
-
-
-
-
-
@@ -0,0 +1,367 @@
+package com.AI4Java.BackendAI.AI.tools.WebSearch;
+
+import com.microsoft.playwright.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of Playwright pages, owned by {@link BrowserRuntime}. Each slot owns its own
+ * Playwright/Browser (Playwright objects must only be used by one thread at a time, which a
+ * lease guarantees) plus a context and page with the user-agent, headers, stealth script and
+ * resource blocking already applied. Slots are started on demand, reset between leases,
+ * recycled after {@code maxUses} and closed by {@link #closeIdle} once unused.
+ */
+public class PlaywrightPagePool {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlaywrightPagePool.class);
+
+    // Browser Configuration
+    private static final int VIEWPORT_WIDTH = 1920;
+    private static final int VIEWPORT_HEIGHT = 1080;
+    private static final boolean BROWSER_HEADLESS = true;
+    private static final int BROWSER_LAUNCH_TIMEOUT_MS = 30000;
+
+    // Stealth Configuration
+    private static final int MIN_PLUGIN_COUNT = 3;
+    private static final int MAX_PLUGIN_COUNT = 8;
+
+    // User Agents Pool
+    private static final List<String> USER_AGENTS = List.of(
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.114 Safari/537.36",
+            "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.101 Safari/537.36",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:109.0) Gecko/20100101 Firefox/115.0",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10.15; rv:109.0) Gecko/20100101 Firefox/115.0",
+            "Mozilla/5.0 (X11; Ubuntu; Linux x86_64; rv:109.0) Gecko/20100101 Firefox/115.0",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/16.6 Safari/605.1.15",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/118.0.0.0 Safari/537.36 Edg/118.0.2088.76"
+    );
+
+    // Accept-Language header variations
+    private static final List<String> ACCEPT_LANGUAGES = List.of(
+            "en-US,en;q=0.9",
+            "en-US,en;q=0.9,es;q=0.8",
+            "en-GB,en;q=0.9,en-US;q=0.8"
+    );
+
+    // Browser launch arguments
+    private static final List<String> BROWSER_ARGS = List.of(
+            "--no-sandbox",
+            "--disable-dev-shm-usage",
+            "--disable-gpu",
+            "--disable-blink-features=AutomationControlled",
+            "--disable-extensions",
+            "--no-first-run",
+            "--disable-default-apps",
+            "--disable-infobars",
+            "--window-size=" + VIEWPORT_WIDTH + "," + VIEWPORT_HEIGHT,
+            "--memory-pressure-off",
+            "--max_old_space_size=4096",
+            "--disable-background-networking"
+    );
+
+    // Resource blocking patterns
+    private static final String BLOCKED_RESOURCES = "**/*.{png,jpg,jpeg,gif,svg,woff,woff2}";
+
+    // HTTP Headers
+    private static final String ACCEPT_HEADER = "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8";
+    private static final String ACCEPT_ENCODING_HEADER = "gzip, deflate, br";
+    private static final String DNT_HEADER = "1";
+    private static final String CONNECTION_HEADER = "keep-alive";
+    private static final String UPGRADE_INSECURE_REQUESTS_HEADER = "1";
+
+    // Stealth script template
+    private static final String STEALTH_SCRIPT_TEMPLATE = "() => { " +
+            "delete navigator.__proto__.webdriver;" +
+            "Object.defineProperty(navigator, 'plugins', {get: () => Array.from({length: %d}, () => ({}))});" +
+            "Object.defineProperty(navigator, 'languages', {get: () => ['en-US', 'en']});" +
+            "Object.defineProperty(navigator, 'permissions', {get: () => ({query: () => Promise.resolve({state: 'granted'})})});" +
+            "window.chrome = {runtime: {}, loadTimes: () => ({}), csi: () => ({})};" +
+            "}";
+
+    // Reset between leases
+    private static final String CLEAR_STORAGE_SCRIPT = "() => { try { localStorage.clear(); sessionStorage.clear(); } catch (e) {} }";
+
+    private final int poolSize;
+    private final int maxUsesPerPage;
+    private final Duration leaseTimeout;
+
+    // One permit per slot; idle slots wait in the deque, most recently used first
+    private final Semaphore permits;
+    private final BlockingDeque<PooledPage> idlePages = new LinkedBlockingDeque<>();
+    private final AtomicInteger livePages = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final SecureRandom random = new SecureRandom();
+
+    private final Timer leaseWaitTimer;
+    private final Counter recycleCounter;
+    private final Counter leaseTimeoutCounter;
+
+    private volatile boolean shutdown;
+
+    PlaywrightPagePool(MeterRegistry meterRegistry, int poolSize, int maxUsesPerPage, Duration leaseTimeout) {
+        this.poolSize = Math.max(1, poolSize);
+        this.maxUsesPerPage = Math.max(1, maxUsesPerPage);
+        this.leaseTimeout = leaseTimeout;
+        this.permits = new Semaphore(this.poolSize, true);
+
+        Gauge.builder("browser.pool.size", livePages, AtomicInteger::get)
+                .tag("pool", "playwright").register(meterRegistry);
+        Gauge.builder("browser.pool.idle", idlePages, BlockingDeque::size)
+                .tag("pool", "playwright").register(meterRegistry);
+        Gauge.builder("browser.pool.in_use", permits, semaphore -> this.poolSize - semaphore.availablePermits())
+                .tag("pool", "playwright").register(meterRegistry);
+        Gauge.builder("browser.pool.waiting", waiting, AtomicInteger::get)
+                .tag("pool", "playwright").register(meterRegistry);
+        this.leaseWaitTimer = Timer.builder("browser.pool.lease.wait")
+                .tag("pool", "playwright").register(meterRegistry);
+        this.recycleCounter = Counter.builder("browser.pool.recycled")
+                .tag("pool", "playwright").register(meterRegistry);
+        this.leaseTimeoutCounter = Counter.builder("browser.pool.lease.timeouts")
+                .tag("pool", "playwright").register(meterRegistry);
+    }
+
+    public Lease lease() throws InterruptedException, TimeoutException {
+        if (shutdown) {
+            throw new IllegalStateException("Playwright page pool is shut down");
+        }
+
+        long startNanos = System.nanoTime();
+        waiting.incrementAndGet();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(leaseTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } finally {
+            waiting.decrementAndGet();
+            leaseWaitTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            leaseTimeoutCounter.increment();
+            throw new TimeoutException("No Playwright page available within " + leaseTimeout);
+        }
+
+        try {
+            PooledPage pooledPage = idlePages.pollFirst();
+            if (pooledPage == null) {
+                pooledPage = createPage();
+            } else if (!pooledPage.isHealthy() || pooledPage.uses >= maxUsesPerPage) {
+                recycle(pooledPage);
+            }
+            pooledPage.uses++;
+            return new Lease(pooledPage);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void release(PooledPage pooledPage, boolean broken) {
+        try {
+            if (shutdown) {
+                close(pooledPage);
+                return;
+            }
+            try {
+                if (broken) {
+                    pooledPage.broken = true;
+                } else {
+                    reset(pooledPage);
+                }
+            } catch (Exception e) {
+                logger.debug("Reset of Playwright page failed, will recycle: {}", e.getMessage());
+                pooledPage.broken = true;
+            }
+            pooledPage.lastReleasedNanos = System.nanoTime();
+            idlePages.offerFirst(pooledPage);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Closes idle slots (and their browser processes) that have not been leased for {@code idleTimeout}.
+     */
+    int closeIdle(Duration idleTimeout) {
+        int closed = 0;
+        long cutoff = System.nanoTime() - idleTimeout.toNanos();
+        // A slot taken off the deque is covered by a permit, so a lease that finds the deque
+        // empty meanwhile cannot start an extra slot beyond poolSize
+        while (permits.tryAcquire()) {
+            try {
+                // Least recently used slots sit at the tail
+                PooledPage oldest = idlePages.pollLast();
+                if (oldest == null) break;
+                if (oldest.lastReleasedNanos - cutoff > 0) {
+                    idlePages.offerLast(oldest);
+                    break;
+                }
+                close(oldest);
+                closed++;
+            } finally {
+                permits.release();
+            }
+        }
+        return closed;
+    }
+
+    private void reset(PooledPage pooledPage) {
+        pooledPage.context.clearCookies();
+        pooledPage.page.evaluate(CLEAR_STORAGE_SCRIPT);
+        pooledPage.page.navigate("about:blank");
+    }
+
+    private PooledPage createPage() {
+        PooledPage pooledPage = new PooledPage();
+        try {
+            launchBrowser(pooledPage);
+            openPage(pooledPage);
+        } catch (RuntimeException e) {
+            closeQuietly(pooledPage.browser);
+            closeQuietly(pooledPage.playwright);
+            throw e;
+        }
+        livePages.incrementAndGet();
+        logger.debug("Started Playwright page ({} live)", livePages.get());
+        return pooledPage;
+    }
+
+    private void recycle(PooledPage pooledPage) {
+        logger.debug("Recycling Playwright page after {} uses", pooledPage.uses);
+        recycleCounter.increment();
+        closeQuietly(pooledPage.context);
+        try {
+            if (pooledPage.browser == null || !pooledPage.browser.isConnected()) {
+                closeQuietly(pooledPage.browser);
+                closeQuietly(pooledPage.playwright);
+                launchBrowser(pooledPage);
+            }
+            openPage(pooledPage);
+        } catch (RuntimeException e) {
+            // Slot is unusable; drop it so the next lease starts a fresh one
+            close(pooledPage);
+            throw e;
+        }
+        pooledPage.uses = 0;
+        pooledPage.broken = false;
+    }
+
+    private void launchBrowser(PooledPage pooledPage) {
+        pooledPage.playwright = Playwright.create();
+        pooledPage.browser = pooledPage.playwright.chromium().launch(new BrowserType.LaunchOptions()
+                .setHeadless(BROWSER_HEADLESS)
+                .setTimeout(BROWSER_LAUNCH_TIMEOUT_MS)
+                .setArgs(BROWSER_ARGS)
+        );
+    }
+
+    private void openPage(PooledPage pooledPage) {
+        pooledPage.context = pooledPage.browser.newContext(new Browser.NewContextOptions()
+                .setUserAgent(getRandomUserAgent())
+                .setViewportSize(VIEWPORT_WIDTH, VIEWPORT_HEIGHT)
+                .setJavaScriptEnabled(true)
+                .setExtraHTTPHeaders(createHeaders())
+        );
+        pooledPage.page = pooledPage.context.newPage();
+        configurePageStealth(pooledPage.page);
+        pooledPage.page.route(BLOCKED_RESOURCES, route -> route.abort());
+    }
+
+    private String getRandomUserAgent() {
+        return USER_AGENTS.get(random.nextInt(USER_AGENTS.size()));
+    }
+
+    private Map<String, String> createHeaders() {
+        String acceptLanguage = ACCEPT_LANGUAGES.get(random.nextInt(ACCEPT_LANGUAGES.size()));
+
+        return Map.of(
+                "Accept", ACCEPT_HEADER,
+                "Accept-Language", acceptLanguage,
+                "Accept-Encoding", ACCEPT_ENCODING_HEADER,
+                "DNT", DNT_HEADER,
+                "Connection", CONNECTION_HEADER,
+                "Upgrade-Insecure-Requests", UPGRADE_INSECURE_REQUESTS_HEADER
+        );
+    }
+
+    private void configurePageStealth(Page page) {
+        int pluginCount = MIN_PLUGIN_COUNT + random.nextInt(MAX_PLUGIN_COUNT - MIN_PLUGIN_COUNT + 1);
+        page.addInitScript(String.format(STEALTH_SCRIPT_TEMPLATE, pluginCount));
+    }
+
+    void shutdown() {
+        shutdown = true;
+        logger.info("Shutting down Playwright page pool ({} live pages)", livePages.get());
+        PooledPage pooledPage;
+        while ((pooledPage = idlePages.pollFirst()) != null) {
+            close(pooledPage);
+        }
+    }
+
+    private void close(PooledPage pooledPage) {
+        livePages.decrementAndGet();
+        closeQuietly(pooledPage.context);
+        closeQuietly(pooledPage.browser);
+        closeQuietly(pooledPage.playwright);
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null) return;
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            logger.debug("Error closing Playwright resource: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Exclusive use of one pooled page. Call {@link #markBroken()} if the page may be left in a bad state.
+     */
+    public final class Lease implements AutoCloseable {
+        private final PooledPage pooledPage;
+        private boolean broken;
+
+        private Lease(PooledPage pooledPage) {
+            this.pooledPage = pooledPage;
+        }
+
+        public Page page() {
+            return pooledPage.page;
+        }
+
+        public void markBroken() {
+            this.broken = true;
+        }
+
+        @Override
+        public void close() {
+            release(pooledPage, broken);
+        }
+    }
+
+    private static class PooledPage {
+        Playwright playwright;
+        Browser browser;
+        BrowserContext context;
+        Page page;
+        int uses;
+        boolean broken;
+        long lastReleasedNanos = System.nanoTime();
+
+        boolean isHealthy() {
+            return !broken && browser != null && browser.isConnected() && page != null && !page.isClosed();
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.AI4Java.BackendAI.AI.tools.WebSearch;
 
+import com.AI4Java.BackendAI.AI.tools.Scraping.ScrapeCache;
+import com.AI4Java.BackendAI.AI.tools.Scraping.FetchedPage;
+import com.AI4Java.BackendAI.AI.tools.Scraping.ScrapedPage;
+import com.AI4Java.BackendAI.AI.tools.Scraping.TieredPageFetcher;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.LoadState;
 import com.microsoft.playwright.options.WaitUntilState;
-import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
@@ -13,31 +16,24 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
-import org.springframework.context.ApplicationListener;
-import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
 
 @Service
-public class PlaywrightWebScraperTools implements ApplicationListener<ContextRefreshedEvent> {
+public class PlaywrightWebScraperTools {
 
     private static final Logger logger = LoggerFactory.getLogger(PlaywrightWebScraperTools.class);
 
-    // Browser Configuration
-    private static final int VIEWPORT_WIDTH = 1920;
-    private static final int VIEWPORT_HEIGHT = 1080;
-    private static final boolean BROWSER_HEADLESS = true;
-
     // Timeout Configuration
     private static final int DEFAULT_TIMEOUT_MS = 30000;
     private static final int NAVIGATION_TIMEOUT_MS = 30000;
@@ -64,111 +60,28 @@ public class PlaywrightWebScraperTools implements ApplicationListener<ContextRef
     private static final String LINK_SELECTOR = "a[href]";
     private static final String IMAGE_SELECTOR = "img[src]";
 
-    // User agents pool
-    private static final List<String> USER_AGENTS = List.of(
-            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36",
-            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.114 Safari/537.36",
-            "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.101 Safari/537.36",
-            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36",
-            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36",
-            "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:109.0) Gecko/20100101 Firefox/115.0",
-            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10.15; rv:109.0) Gecko/20100101 Firefox/115.0",
-            "Mozilla/5.0 (X11; Ubuntu; Linux x86_64; rv:109.0) Gecko/20100101 Firefox/115.0"
-    );
-
-    // HTTP Headers
-    private static final Map<String, String> DEFAULT_HEADERS = Map.of(
-            "Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8",
-            "Accept-Language", "en-US,en;q=0.9",
-            "Accept-Encoding", "gzip, deflate, br",
-            "Cache-Control", "no-cache",
-            "Pragma", "no-cache"
-    );
-
-    // Browser launch arguments
-    private static final List<String> BROWSER_ARGS = List.of(
-            "--disable-gpu",
-            "--disable-images",
-            "--disable-web-security",
-            "--disable-features=VizDisplayCompositor",
-            "--no-sandbox",
-            "--disable-dev-shm-usage",
-            "--disable-blink-features=AutomationControlled"
-    );
-
-    // Stealth script
-    private static final String STEALTH_SCRIPT = """
-        () => {
-            // Remove webdriver property
-            Object.defineProperty(navigator, 'webdriver', {
-                get: () => undefined,
-            });
-            
-            // Mock chrome object  
-            window.chrome = {
-                runtime: {},
-                loadTimes: () => ({}),
-                csi: () => ({})
-            };
-            
-            // Mock plugins
-            Object.defineProperty(navigator, 'plugins', {
-                get: () => Array.from({length: 5}, () => ({}))
-            });
-            
-            // Mock languages
-            Object.defineProperty(navigator, 'languages', {
-                get: () => ['en-US', 'en']
-            });
-            
-            // Hide automation indicators
-            Object.defineProperty(navigator, 'permissions', {
-                get: () => ({
-                    query: () => Promise.resolve({ state: 'granted' })
-                })
-            });
-        }
-        """;
-
     // Instance variables
-    private volatile Playwright playwright;
-    private volatile Browser browser;
-    private final SecureRandom random = new SecureRandom();
+    @Autowired
+    private BrowserRuntime browserRuntime;
+    @Autowired
+    private ScrapeCache scrapeCache;
+    @Autowired
+    private TieredPageFetcher tieredPageFetcher;
     private final AtomicLong scrapeCount = new AtomicLong(0);
 
-    @Override
-    public void onApplicationEvent(ContextRefreshedEvent event) {
-        CompletableFuture.runAsync(this::initialize);
-    }
-
-    public void initialize() {
-        logger.info("Initializing Playwright web scraper tool asynchronously...");
-        try {
-            playwright = Playwright.create();
-            browser = createBrowser();
-            logger.info("Playwright web scraper initialized successfully");
-        } catch (Exception e) {
-            logger.error("Failed to initialize Playwright web scraper", e);
-            throw new ScraperInitializationException("Failed to initialize web scraper", e);
-        }
-    }
-
     @PreDestroy
     public void cleanup() {
-        logger.info("Shutting down Playwright web scraper tool");
-        try {
-            if (browser != null) browser.close();
-            if (playwright != null) playwright.close();
-            logger.info("Playwright web scraper cleaned up successfully. Total scrapes: {}", scrapeCount.get());
-        } catch (Exception e) {
-            logger.error("Error during web scraper cleanup", e);
-        }
+        logger.info("Playwright web scraper tool stopped. Total scrapes: {}", scrapeCount.get());
     }
 
     @Tool(name = "scrape_webpage_playwright",
             description = "Scrapes and extracts content from any webpage URL using a headless browser. " +
                     "Returns clean text content, title, and key metadata information.")
     public String scrape_webpage(@ToolParam(description = "Full http/https URL to scrape") String url) {
+        return scrapeWebpage(url, true);
+    }
+
+    private String scrapeWebpage(String url, boolean allowCached) {
         long scrapeId = scrapeCount.incrementAndGet();
         logger.debug("Starting webpage scrape #{} for URL: {}", scrapeId, url);
 
@@ -180,8 +93,7 @@ public class PlaywrightWebScraperTools implements ApplicationListener<ContextRef
         }
 
         try {
-            String html = fetchPageContent(url, scrapeId);
-            String result = parseWebpageContent(html, url);
+            String result = formatWebpageResult(loadPage(url, scrapeId, allowCached));
 
             logger.info("Webpage scrape #{} completed successfully for domain: {}",
                     scrapeId, extractDomain(url));
@@ -215,7 +127,7 @@ public class PlaywrightWebScraperTools implements ApplicationListener<ContextRef
         }
 
         try {
-            String html = fetchPageContent(url, scrapeId);
+            String html = fetchPageContent(url, scrapeId).getHtml();
             String result = extractStructuredData(html, selector, url);
 
             logger.info("Structured data extraction #{} completed successfully", scrapeId);
@@ -245,7 +157,8 @@ public class PlaywrightWebScraperTools implements ApplicationListener<ContextRef
         }
 
         try {
-            String content = scrape_webpage(url);
+            // Change detection needs the live page, never a cached copy
+            String content = scrapeWebpage(url, false);
             String contentHash = generateContentHash(content);
             String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
 
@@ -268,46 +181,58 @@ public class PlaywrightWebScraperTools implements ApplicationListener<ContextRef
         }
     }
 
-    private Browser createBrowser() throws ScraperInitializationException {
-        try {
-            BrowserType.LaunchOptions launchOptions = new BrowserType.LaunchOptions()
-                    .setHeadless(BROWSER_HEADLESS)
-                    .setArgs(BROWSER_ARGS);
+    /**
+     * Cached or freshly fetched and parsed page; also used by {@link BulkScraperTools}.
+     */
+    ScrapedPage loadPage(String url, boolean allowCached) throws ScrapingException {
+        return loadPage(url, scrapeCount.incrementAndGet(), allowCached);
+    }
 
-            return playwright.chromium().launch(launchOptions);
-        } catch (Exception e) {
-            throw new ScraperInitializationException("Failed to create browser", e);
+    private ScrapedPage loadPage(String url, long scrapeId, boolean allowCached) throws ScrapingException {
+        ScrapeCache.Lookup cached = allowCached ? scrapeCache.lookup(url) : null;
+        if (cached != null && cached.isFresh()) {
+            logger.debug("Scrape #{} served from cache for domain: {}", scrapeId, extractDomain(url));
+            return cached.getPage();
         }
-    }
 
-    private String fetchPageContent(String url, long scrapeId) throws ScrapingException {
-        BrowserContext context = null;
-        try {
-            String userAgent = getRandomUserAgent();
+        // Stale pages that came over HTTP carry validators, so the origin can answer 304
+        if (cached != null && cached.isHit() && tieredPageFetcher.isUnchanged(url, cached.getPage())) {
+            logger.debug("Scrape #{} revalidated, page unchanged", scrapeId);
+            return scrapeCache.revalidated(url, cached.getPage());
+        }
 
-            context = browser.newContext(new Browser.NewContextOptions()
-                    .setUserAgent(userAgent)
-                    .setViewportSize(VIEWPORT_WIDTH, VIEWPORT_HEIGHT)
-                    .setJavaScriptEnabled(true)
-                    .setExtraHTTPHeaders(DEFAULT_HEADERS)
-            );
+        FetchedPage fetched = fetchPageContent(url, scrapeId);
+        ScrapedPage page = parseWebpageContent(fetched, url);
+        scrapeCache.put(url, page);
+        return page;
+    }
 
-            Page page = context.newPage();
-            configurePageStealth(page);
-            setPageTimeouts(page);
+    private FetchedPage fetchPageContent(String url, long scrapeId) throws ScrapingException {
+        // Static pages come back over plain HTTP; the browser is only used for JS-rendered ones
+        return tieredPageFetcher.fetch(url, browserUrl -> fetchWithBrowser(browserUrl, scrapeId));
+    }
 
-            return fetchWithRetry(page, url, scrapeId);
+    private String fetchWithBrowser(String url, long scrapeId) throws ScrapingException {
+        // Pages are shared with the Playwright search tool instead of a browser per tool
+        try (PlaywrightPagePool.Lease lease = browserRuntime.leasePage()) {
+            try {
+                Page page = lease.page();
+                setPageTimeouts(page);
+                return fetchWithRetry(page, url, scrapeId);
+            } catch (RuntimeException e) {
+                lease.markBroken();
+                throw e;
+            }
 
+        } catch (TimeoutException e) {
+            throw new ScrapingException("All browser pages are busy. Please try again in a few moments.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScrapingException("Scraping interrupted", e);
+        } catch (ScrapingException e) {
+            throw e;
         } catch (Exception e) {
             throw new ScrapingException("Failed to fetch page content: " + e.getMessage(), e);
-        } finally {
-            if (context != null) {
-                try {
-                    context.close();
-                } catch (Exception e) {
-                    logger.warn("Error closing browser context for scrape #{}", scrapeId, e);
-                }
-            }
         }
     }
 
@@ -376,27 +301,19 @@ public class PlaywrightWebScraperTools implements ApplicationListener<ContextRef
         }
     }
 
-    private String getRandomUserAgent() {
-        return USER_AGENTS.get(random.nextInt(USER_AGENTS.size()));
-    }
-
-    private void configurePageStealth(Page page) {
-        page.addInitScript(STEALTH_SCRIPT);
-    }
-
     private void setPageTimeouts(Page page) {
         page.setDefaultTimeout(DEFAULT_TIMEOUT_MS);
         page.setDefaultNavigationTimeout(NAVIGATION_TIMEOUT_MS);
     }
 
-    private String parseWebpageContent(String html, String url) throws ScrapingException {
+    private ScrapedPage parseWebpageContent(FetchedPage fetched, String url) throws ScrapingException {
         try {
-            Document doc = Jsoup.parse(html);
+            Document doc = Jsoup.parse(fetched.getHtml());
 
             WebpageMetadata metadata = extractMetadata(doc, url);
             String mainContent = extractMainContent(doc);
 
-            return formatWebpageResult(metadata, mainContent);
+            return metadata.toScrapedPage(url, mainContent, fetched.getEtag(), fetched.getLastModified());
 
         } catch (Exception e) {
             throw new ScrapingException("Failed to parse webpage content: " + e.getMessage(), e);
@@ -427,6 +344,10 @@ public class PlaywrightWebScraperTools implements ApplicationListener<ContextRef
         return doc.body().text();
     }
 
+    private String formatWebpageResult(ScrapedPage page) {
+        return formatWebpageResult(WebpageMetadata.from(page), page.getContent());
+    }
+
     private String formatWebpageResult(WebpageMetadata metadata, String content) {
         StringBuilder result = new StringBuilder();
         result.append("📄 **Webpage Content Extracted**\n\n");
@@ -598,16 +519,20 @@ public class PlaywrightWebScraperTools implements ApplicationListener<ContextRef
             this.author = author != null ? author : "";
             this.publishDate = publishDate != null ? publishDate : "";
         }
-    }
 
-    // Custom exceptions
-    private static class ScraperInitializationException extends RuntimeException {
-        ScraperInitializationException(String message, Throwable cause) {
-            super(message, cause);
+        static WebpageMetadata from(ScrapedPage page) {
+            return new WebpageMetadata(page.getTitle(), page.getDomain(), page.getDescription(),
+                    page.getAuthor(), page.getPublishDate());
+        }
+
+        ScrapedPage toScrapedPage(String url, String content, String etag, String lastModified) {
+            return new ScrapedPage(url, title, domain, description, author, publishDate, content,
+                    etag, lastModified, System.currentTimeMillis());
         }
     }
 
-    private static class ScrapingException extends Exception {
+    // Custom exception
+    static class ScrapingException extends Exception {
         ScrapingException(String message) {
             super(message);
         }
@@ -0,0 +1,149 @@
+package com.AI4Java.BackendAI.AI.tools.WebSearch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+/**
+ * Runs one search per engine concurrently and merges the hits. Results are deduplicated by
+ * normalized URL and ranked with reciprocal rank fusion, so a link ranked high by several
+ * engines comes first. Collection stops as soon as the merged set reaches {@code minResults};
+ * engines still running are cancelled.
+ */
+final class SearchFanOut {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchFanOut.class);
+
+    // Reciprocal rank fusion constant
+    private static final int RRF_K = 60;
+
+    // Query parameters that only track the click and never change the page
+    private static final Set<String> TRACKING_PARAMS = Set.of("fbclid", "gclid", "msclkid", "ref", "ref_src");
+
+    private SearchFanOut() {
+    }
+
+    static List<FusedResult> run(ExecutorService executor, Map<String, Callable<List<Hit>>> engineSearches,
+                                 int minResults, Duration timeout) {
+        ExecutorCompletionService<List<Hit>> completion = new ExecutorCompletionService<>(executor);
+        Map<Future<List<Hit>>, String> engineByFuture = new HashMap<>();
+        engineSearches.forEach((engine, search) -> engineByFuture.put(completion.submit(search), engine));
+
+        List<List<Hit>> perEngine = new ArrayList<>();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            for (int completed = 0; completed < engineByFuture.size(); completed++) {
+                long remaining = deadline - System.nanoTime();
+                Future<List<Hit>> done = remaining > 0 ? completion.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                if (done == null) {
+                    logger.debug("Fan-out deadline of {} reached, using {} engine result(s)", timeout, perEngine.size());
+                    break;
+                }
+                try {
+                    perEngine.add(done.get());
+                } catch (ExecutionException e) {
+                    logger.warn("{} search failed: {}", engineByFuture.get(done), e.getCause().getMessage());
+                    continue;
+                }
+                if (fuse(perEngine).size() >= minResults) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Slower engines are no longer needed
+            engineByFuture.keySet().forEach(future -> future.cancel(true));
+        }
+        return fuse(perEngine);
+    }
+
+    static List<FusedResult> fuse(List<List<Hit>> perEngine) {
+        Map<String, FusedResult> byUrl = new LinkedHashMap<>();
+        for (List<Hit> hits : perEngine) {
+            for (int rank = 0; rank < hits.size(); rank++) {
+                Hit hit = hits.get(rank);
+                FusedResult fused = byUrl.computeIfAbsent(normalizeUrl(hit.link), key -> new FusedResult(hit));
+                fused.add(hit, rank);
+            }
+        }
+        return byUrl.values().stream()
+                .sorted(Comparator.comparingDouble(FusedResult::getScore).reversed()
+                        .thenComparingInt(FusedResult::getBestRank))
+                .collect(Collectors.toList());
+    }
+
+    static String normalizeUrl(String url) {
+        String trimmed = url.trim();
+        try {
+            URI uri = new URI(trimmed);
+            if (uri.getHost() == null) return trimmed.toLowerCase();
+
+            String host = uri.getHost().toLowerCase();
+            if (host.startsWith("www.")) host = host.substring(4);
+
+            String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+            while (path.endsWith("/")) path = path.substring(0, path.length() - 1);
+
+            String query = uri.getRawQuery() == null ? "" : Arrays.stream(uri.getRawQuery().split("&"))
+                    .filter(param -> !param.isEmpty())
+                    .filter(param -> {
+                        String name = param.split("=", 2)[0].toLowerCase();
+                        return !name.startsWith("utm_") && !TRACKING_PARAMS.contains(name);
+                    })
+                    .sorted()
+                    .collect(Collectors.joining("&"));
+
+            // Scheme and fragment are ignored: http/https and #anchors point at the same page
+            return host + path + (query.isEmpty() ? "" : "?" + query);
+        } catch (URISyntaxException e) {
+            return trimmed.toLowerCase();
+        }
+    }
+
+    static class Hit {
+        final String engine;
+        final String title;
+        final String link;
+        final String snippet;
+
+        Hit(String engine, String title, String link, String snippet) {
+            this.engine = engine;
+            this.title = title;
+            this.link = link;
+            this.snippet = snippet != null ? snippet : "";
+        }
+    }
+
+    static class FusedResult {
+        private Hit hit;
+        private final Set<String> engines = new LinkedHashSet<>();
+        private double score;
+        private int bestRank = Integer.MAX_VALUE;
+
+        FusedResult(Hit hit) {
+            this.hit = hit;
+        }
+
+        void add(Hit other, int rank) {
+            // Keep the most descriptive snippet among duplicates
+            if (other.snippet.length() > hit.snippet.length()) {
+                hit = other;
+            }
+            engines.add(other.engine);
+            score += 1.0 / (RRF_K + rank + 1);
+            bestRank = Math.min(bestRank, rank);
+        }
+
+        Hit getHit() { return hit; }
+        Set<String> getEngines() { return engines; }
+        double getScore() { return score; }
+        int getBestRank() { return bestRank; }
+    }
+}
@@ -3,45 +3,40 @@ package com.AI4Java.BackendAI.AI.tools.WebSearch;
 import jakarta.annotation.PreDestroy;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.UnreachableBrowserException;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
-import org.springframework.context.ApplicationListener;
-import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.security.SecureRandom;
 import java.time.Duration;
-import java.util.concurrent.CompletableFuture;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicLong;
 
 @Service
-public class SeleniumBrowserSearchTools implements ApplicationListener<ContextRefreshedEvent> {
+public class SeleniumBrowserSearchTools {
 
     private static final Logger logger = LoggerFactory.getLogger(SeleniumBrowserSearchTools.class);
 
-    // Browser Configuration
-    private static final int VIEWPORT_WIDTH = 1920;
-    private static final int VIEWPORT_HEIGHT = 1080;
-    private static final boolean HEADLESS_MODE = true;
-
     // Timeout Configuration
     private static final Duration DEFAULT_WAIT_TIMEOUT = Duration.ofSeconds(10);
-    private static final Duration PAGE_LOAD_TIMEOUT = Duration.ofSeconds(30);
-    private static final Duration IMPLICIT_WAIT_TIMEOUT = Duration.ofSeconds(5);
 
     // Search Configuration
     private static final int MAX_DUCKDUCKGO_RESULTS = 6;
@@ -51,12 +46,7 @@ public class SeleniumBrowserSearchTools implements ApplicationListener<ContextRe
     private static final int URL_MAX_DISPLAY_LENGTH = 100;
     private static final int URL_SUFFIX_LENGTH = 100;
     private static final int TEXT_TRUNCATE_THRESHOLD = 1200;
-
-    // Wait Time Configuration
-    private static final int BASE_HUMAN_DELAY_MS = 1000;
-    private static final int MAX_RANDOM_DELAY_MS = 2000;
-    private static final int BING_BASE_DELAY_MS = 1500;
-    private static final int BING_MAX_RANDOM_DELAY_MS = 1000;
+    private static final int MAX_MERGED_RESULTS = 10;
 
     // Search Engine Configuration Map
     private static final Map<String, SearchEngineConfig> SEARCH_ENGINES = Map.of(
@@ -68,8 +58,6 @@ public class SeleniumBrowserSearchTools implements ApplicationListener<ContextRe
                     "[data-testid='result-snippet']",
                     MAX_DUCKDUCKGO_RESULTS,
                     DUCKDUCKGO_SNIPPET_LENGTH,
-                    BASE_HUMAN_DELAY_MS,
-                    MAX_RANDOM_DELAY_MS,
                     "🦆"
             ),
             "bing", new SearchEngineConfig(
@@ -80,8 +68,6 @@ public class SeleniumBrowserSearchTools implements ApplicationListener<ContextRe
                     ".b_caption p, .b_dList",
                     MAX_BING_RESULTS,
                     BING_SNIPPET_LENGTH,
-                    BING_BASE_DELAY_MS,
-                    BING_MAX_RANDOM_DELAY_MS,
                     "🔍"
             )
     );
@@ -89,83 +75,36 @@ public class SeleniumBrowserSearchTools implements ApplicationListener<ContextRe
     // Default search engine order
     private static final List<String> DEFAULT_SEARCH_ORDER = List.of("duckduckgo", "bing");
 
-    // User Agents Pool
-    private static final List<String> USER_AGENTS = List.of(
-            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36",
-            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36",
-            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36",
-            "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36",
-            "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:109.0) Gecko/20100101 Firefox/115.0",
-            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10.15; rv:109.0) Gecko/20100101 Firefox/115.0"
-    );
-
-    // Chrome Options
-    private static final List<String> CHROME_ARGS = List.of(
-            "--no-sandbox",
-            "--disable-dev-shm-usage",
-            "--disable-gpu",
-            "--window-size=" + VIEWPORT_WIDTH + "," + VIEWPORT_HEIGHT,
-            "--disable-blink-features=AutomationControlled",
-            "--disable-extensions",
-            "--no-first-run",
-            "--disable-default-apps",
-            "--disable-infobars",
-            "--disable-notifications",
-            "--disable-popup-blocking",
-            "--disable-translate",
-            "--disable-background-timer-throttling",
-            "--disable-renderer-backgrounding",
-            "--disable-backgrounding-occluded-windows",
-            "--disable-default-apps",
-            "--disable-dev-shm-usage",
-            "--disable-extensions-file-access-check",
-            "--disable-extensions-http-throttling",
-            "--disable-extensions-http-throttling",
-            "--memory-pressure-off",
-            "--max_old_space_size=4096"
-    );
-
-    private static final List<String> EXCLUDE_SWITCHES = List.of("enable-automation");
-
-    // JavaScript for stealth
-    private static final String STEALTH_SCRIPT =
-            "Object.defineProperty(navigator, 'webdriver', {get: () => undefined}); " +
-                    "Object.defineProperty(navigator, 'plugins', {get: () => Array.from({length: 5}, () => ({}))}); " +
-                    "Object.defineProperty(navigator, 'languages', {get: () => ['en-US', 'en']}); " +
-                    "window.chrome = {runtime: {}, loadTimes: () => ({}), csi: () => ({})};";
+    // Calls back true once no DOM mutations were seen for quietMs, or false after timeoutMs
+    private static final String DOM_QUIET_SCRIPT =
+            "const [quietMs, timeoutMs, done] = arguments; let quietTimer;" +
+                    "const observer = new MutationObserver(() => { clearTimeout(quietTimer); quietTimer = setTimeout(finish, quietMs, true); });" +
+                    "const capTimer = setTimeout(finish, timeoutMs, false);" +
+                    "function finish(stable) { observer.disconnect(); clearTimeout(quietTimer); clearTimeout(capTimer); done(stable); }" +
+                    "observer.observe(document.documentElement, {childList: true, subtree: true});" +
+                    "quietTimer = setTimeout(finish, quietMs, true);";
 
     // Instance variables
-    private volatile WebDriver driver;
-    private final SecureRandom random = new SecureRandom();
+    @Autowired
+    private BrowserRuntime browserRuntime;
+    @Autowired
+    private AdaptiveWaitPolicy waitPolicy;
     private final AtomicLong searchCount = new AtomicLong(0);
+    private final ExecutorService searchExecutor =
+            Executors.newCachedThreadPool(new CustomizableThreadFactory("selenium-search-"));
 
-    @Override
-    public void onApplicationEvent(ContextRefreshedEvent event) {
-        CompletableFuture.runAsync(this::initializeDriverAsync);
-    }
-
-    public void initializeDriverAsync() {
-        logger.info("Initializing Selenium browser search tool asynchronously...");
-        try {
-            setupChromeDriver();
-            logger.info("Selenium browser search tool initialized successfully. Available engines: {}",
-                    String.join(", ", SEARCH_ENGINES.keySet()));
-        } catch (Exception e) {
-            logger.error("Asynchronous Selenium browser initialization failed.", e);
-        }
-    }
+    // Parallel mode: every engine on its own pooled driver, merged by normalized URL
+    @Value("${browser.search.parallel.enabled:false}")
+    private boolean parallelEnabled;
+    @Value("${browser.search.parallel.min-results:5}")
+    private int parallelMinResults;
+    @Value("${browser.search.parallel.timeout:20s}")
+    private Duration parallelTimeout;
 
     @PreDestroy
-    public void cleanupDriver() {
-        logger.info("Shutting down Selenium browser search tool");
-        try {
-            if (driver != null) {
-                driver.quit();
-                logger.info("Selenium driver cleaned up successfully. Total searches: {}", searchCount.get());
-            }
-        } catch (Exception e) {
-            logger.error("Error during Selenium driver cleanup", e);
-        }
+    public void cleanup() {
+        searchExecutor.shutdownNow();
+        logger.info("Selenium browser search tool stopped. Total searches: {}", searchCount.get());
     }
 
     @Tool(name = "browser_search_selenium",
@@ -175,11 +114,6 @@ public class SeleniumBrowserSearchTools implements ApplicationListener<ContextRe
             @ToolParam(description = "Search query") String query,
             @ToolParam(description = "Preferred search engine: 'duckduckgo' or 'bing' (optional)", required = false) String engine) {
 
-        if (driver == null) {
-            logger.warn("Selenium driver is not yet initialized. Please try again in a moment.");
-            return "⏳ The browser is warming up. Please try again in a few moments.";
-        }
-
         long searchId = searchCount.incrementAndGet();
         logger.debug("Starting browser search #{} for query: '{}' with engine preference: '{}'",
                 searchId, query, engine);
@@ -191,15 +125,36 @@ public class SeleniumBrowserSearchTools implements ApplicationListener<ContextRe
             return "❌ " + request.getErrorMessage();
         }
 
-        try {
-            String result = searchWithMultipleEngines(request, searchId);
-
-            logger.info("Browser search #{} completed successfully", searchId);
+        if (parallelEnabled && request.getPreferredEngine() == null) {
+            String result = searchAllEnginesInParallel(request, searchId);
+            logger.info("Parallel browser search #{} completed", searchId);
             return result;
+        }
+
+        // Each call gets its own driver so concurrent searches do not share navigation
+        try (SeleniumDriverPool.Lease lease = browserRuntime.leaseDriver()) {
+            try {
+                String result = searchWithMultipleEngines(lease.driver(), request, searchId);
 
+                logger.info("Browser search #{} completed successfully", searchId);
+                return result;
+            } catch (WebDriverException e) {
+                lease.markBroken();
+                throw e;
+            }
+
+        } catch (java.util.concurrent.TimeoutException e) {
+            logger.warn("Browser search #{} could not get a driver: {}", searchId, e.getMessage());
+            return "⏳ All browsers are busy. Please try again in a few moments.";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "❌ Search was interrupted. Please try again.";
         } catch (SearchException e) {
             logger.error("Browser search #{} failed: {}", searchId, e.getMessage());
             return "❌ " + e.getMessage();
+        } catch (WebDriverException e) {
+            logger.error("Browser search #{} lost its browser: {}", searchId, e.getMessage());
+            return "❌ The browser stopped responding during the search. Please try again.";
         } catch (Exception e) {
             logger.error("Unexpected error during browser search #{}", searchId, e);
             return "❌ An unexpected error occurred during browser search. Please try again.";
@@ -229,7 +184,8 @@ public class SeleniumBrowserSearchTools implements ApplicationListener<ContextRe
         return SearchRequest.valid(trimmedQuery, preferredEngine);
     }
 
-    private String searchWithMultipleEngines(SearchRequest request, long searchId) throws SearchException {
+    private String searchWithMultipleEngines(WebDriver driver, SearchRequest request, long searchId)
+            throws SearchException, InterruptedException {
         List<String> engineOrder = determineSearchOrder(request.getPreferredEngine());
         StringBuilder allResults = new StringBuilder();
 
@@ -239,7 +195,7 @@ public class SeleniumBrowserSearchTools implements ApplicationListener<ContextRe
 
             try {
                 logger.debug("Attempting search #{} with {} engine", searchId, config.name);
-                SearchEngineResult result = performSearchWithEngine(request.getQuery(), config, searchId);
+                SearchEngineResult result = performSearchWithEngine(driver, request.getQuery(), config, searchId);
 
                 if (result.hasResults()) {
                     allResults.append(result.getFormattedResults()).append(" ");
@@ -254,6 +210,9 @@ public class SeleniumBrowserSearchTools implements ApplicationListener<ContextRe
                     logger.debug("Search #{} with {} engine returned no results", searchId, config.name);
                 }
 
+            } catch (InterruptedException | WebDriverException e) {
+                // Only a dead driver gets here; the lease holder marks it broken
+                throw e;
             } catch (Exception e) {
                 logger.warn("Search #{} error with {} engine: {}", searchId, config.name, e.getMessage());
                 continue;
@@ -264,6 +223,56 @@ public class SeleniumBrowserSearchTools implements ApplicationListener<ContextRe
                 "❌ No results found from any search engine for: " + request.getQuery();
     }
 
+    private String searchAllEnginesInParallel(SearchRequest request, long searchId) {
+        Map<String, Callable<List<SearchFanOut.Hit>>> engineSearches = new LinkedHashMap<>();
+        for (String engineKey : DEFAULT_SEARCH_ORDER) {
+            SearchEngineConfig config = SEARCH_ENGINES.get(engineKey);
+            engineSearches.put(config.name, () -> searchOnPooledDriver(request.getQuery(), config, searchId));
+        }
+
+        List<SearchFanOut.FusedResult> merged =
+                SearchFanOut.run(searchExecutor, engineSearches, parallelMinResults, parallelTimeout);
+        logger.debug("Parallel search #{} merged {} distinct results", searchId, merged.size());
+
+        return merged.isEmpty() ? "❌ No results found from any search engine for: " + request.getQuery() :
+                formatMergedResults(request.getQuery(), merged);
+    }
+
+    private List<SearchFanOut.Hit> searchOnPooledDriver(String query, SearchEngineConfig config, long searchId)
+            throws Exception {
+        try (SeleniumDriverPool.Lease lease = browserRuntime.leaseDriver()) {
+            try {
+                return performSearchWithEngine(lease.driver(), query, config, searchId).toHits();
+            } catch (Exception e) {
+                // A cancelled search may leave the driver mid-navigation
+                if (e instanceof WebDriverException || Thread.currentThread().isInterrupted()) {
+                    lease.markBroken();
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static String formatMergedResults(String query, List<SearchFanOut.FusedResult> merged) {
+        StringBuilder result = new StringBuilder();
+        result.append("🔀 **Merged Results for: ").append(query).append("** ");
+
+        for (int i = 0; i < Math.min(merged.size(), MAX_MERGED_RESULTS); i++) {
+            SearchFanOut.FusedResult fused = merged.get(i);
+            SearchFanOut.Hit hit = fused.getHit();
+            result.append("**").append(i + 1).append(". ").append(hit.title).append("** ");
+
+            if (!hit.snippet.isEmpty()) {
+                result.append("📝 ").append(hit.snippet).append(" ");
+            }
+
+            result.append("🔗 ").append(shortenUrl(hit.link))
+                    .append(" (").append(String.join(", ", fused.getEngines())).append(") ");
+        }
+
+        return result.toString();
+    }
+
     private List<String> determineSearchOrder(String preferredEngine) {
         List<String> order = new ArrayList<>();
 
@@ -282,22 +291,24 @@ public class SeleniumBrowserSearchTools implements ApplicationListener<ContextRe
         return order;
     }
 
-    private SearchEngineResult performSearchWithEngine(String query, SearchEngineConfig config, long searchId)
-            throws SearchException {
+    private SearchEngineResult performSearchWithEngine(WebDriver driver, String query, SearchEngineConfig config,
+                                                       long searchId)
+            throws SearchException, InterruptedException {
         try {
             logger.debug("Starting {} search #{}", config.name, searchId);
 
             String encodedQuery = URLEncoder.encode(query, StandardCharsets.UTF_8);
             String searchUrl = String.format(config.urlTemplate, encodedQuery);
 
+            long navigationStart = System.currentTimeMillis();
             driver.get(searchUrl);
 
-            // Wait for results to load
+            // Wait for results to load and the DOM to settle instead of a fixed sleep
             WebDriverWait wait = new WebDriverWait(driver, DEFAULT_WAIT_TIMEOUT);
             wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(config.resultSelector)));
-
-            // Human-like delay
-            humanDelay(config.baseDelayMs, config.maxRandomDelayMs);
+            waitForDomQuiet(driver);
+            waitPolicy.recordReady(config.name, System.currentTimeMillis() - navigationStart);
+            Thread.sleep(waitPolicy.jitterMs(config.name));
 
             List<WebElement> results = driver.findElements(By.cssSelector(config.resultSelector));
             List<SearchResultItem> items = extractSearchResults(results, config);
@@ -306,12 +317,28 @@ public class SeleniumBrowserSearchTools implements ApplicationListener<ContextRe
 
         } catch (TimeoutException e) {
             throw new SearchException(config.name + " search timed out - page may be blocked");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (WebDriverException e) {
+            if (isDriverGone(e)) {
+                logger.warn("{} search #{} lost its browser: {}", config.name, searchId, e.getMessage());
+                throw e;
+            }
+            // Navigation and script errors are per page; the next engine can still use this driver
+            throw new SearchException(config.name + " search failed: " + e.getMessage());
         } catch (Exception e) {
             logger.warn("{} search #{} failed: {}", config.name, searchId, e.getMessage());
             return SearchEngineResult.empty(config.name, query);
         }
     }
 
+    private static boolean isDriverGone(WebDriverException e) {
+        return e instanceof NoSuchSessionException
+                || e instanceof SessionNotCreatedException
+                || e instanceof UnreachableBrowserException;
+    }
+
     private List<SearchResultItem> extractSearchResults(List<WebElement> results, SearchEngineConfig config) {
         List<SearchResultItem> items = new ArrayList<>();
 
@@ -339,63 +366,12 @@ public class SeleniumBrowserSearchTools implements ApplicationListener<ContextRe
         return items;
     }
 
-    private void setupChromeDriver() throws SeleniumInitializationException {
-        try {
-            ChromeOptions options = createChromeOptions();
-            driver = new ChromeDriver(options);
-
-            // Set timeouts
-            driver.manage().timeouts().pageLoadTimeout(PAGE_LOAD_TIMEOUT);
-            driver.manage().timeouts().implicitlyWait(IMPLICIT_WAIT_TIMEOUT);
-
-            // Execute stealth script
-            ((JavascriptExecutor) driver).executeScript(STEALTH_SCRIPT);
-
-        } catch (Exception e) {
-            throw new SeleniumInitializationException("Failed to setup Chrome driver: " + e.getMessage(), e);
-        }
-    }
-
-    private ChromeOptions createChromeOptions() {
-        ChromeOptions options = new ChromeOptions();
-
-        // Add arguments
-        for (String arg : CHROME_ARGS) {
-            options.addArguments(arg);
-        }
-
-        // Add headless mode if enabled
-        if (HEADLESS_MODE) {
-            options.addArguments("--headless=new");
+    private void waitForDomQuiet(WebDriver driver) {
+        Object stable = ((JavascriptExecutor) driver).executeAsyncScript(DOM_QUIET_SCRIPT,
+                waitPolicy.quietPeriodMs(), waitPolicy.stabilityTimeoutMs());
+        if (!Boolean.TRUE.equals(stable)) {
+            logger.debug("DOM did not settle within {}ms, extracting anyway", waitPolicy.stabilityTimeoutMs());
         }
-
-        // Add random user agent
-        String userAgent = getRandomUserAgent();
-        options.addArguments("--user-agent=" + userAgent);
-
-        // Experimental options
-        options.setExperimentalOption("excludeSwitches", EXCLUDE_SWITCHES);
-        options.setExperimentalOption("useAutomationExtension", false);
-
-        // Preferences
-        Map<String, Object> prefs = new HashMap<>();
-        prefs.put("profile.default_content_setting_values.notifications", 2);
-        prefs.put("profile.managed_default_content_settings.images", 2); // Disable images for speed
-        prefs.put("profile.default_content_settings.popups", 0);
-        options.setExperimentalOption("prefs", prefs);
-
-        return options;
-    }
-
-    private String getRandomUserAgent() {
-        String selectedAgent = USER_AGENTS.get(random.nextInt(USER_AGENTS.size()));
-        logger.debug("Selected user agent: {}...", selectedAgent.substring(0, Math.min(50, selectedAgent.length())));
-        return selectedAgent;
-    }
-
-    private void humanDelay(int baseDelayMs, int maxRandomDelayMs) throws InterruptedException {
-        int delay = baseDelayMs + random.nextInt(maxRandomDelayMs);
-        Thread.sleep(delay);
     }
 
     private static String truncateText(String text, int maxLength) {
@@ -432,13 +408,11 @@ public class SeleniumBrowserSearchTools implements ApplicationListener<ContextRe
         final String snippetSelector;
         final int maxResults;
         final int snippetLength;
-        final int baseDelayMs;
-        final int maxRandomDelayMs;
         final String emoji;
 
         SearchEngineConfig(String name, String urlTemplate, String resultSelector,
                            String titleSelector, String snippetSelector, int maxResults,
-                           int snippetLength, int baseDelayMs, int maxRandomDelayMs, String emoji) {
+                           int snippetLength, String emoji) {
             this.name = name;
             this.urlTemplate = urlTemplate;
             this.resultSelector = resultSelector;
@@ -446,8 +420,6 @@ public class SeleniumBrowserSearchTools implements ApplicationListener<ContextRe
             this.snippetSelector = snippetSelector;
             this.maxResults = maxResults;
             this.snippetLength = snippetLength;
-            this.baseDelayMs = baseDelayMs;
-            this.maxRandomDelayMs = maxRandomDelayMs;
             this.emoji = emoji;
         }
     }
@@ -516,6 +488,15 @@ public class SeleniumBrowserSearchTools implements ApplicationListener<ContextRe
             return items.size();
         }
 
+        List<SearchFanOut.Hit> toHits() {
+            List<SearchFanOut.Hit> hits = new ArrayList<>();
+            for (SearchResultItem item : items) {
+                hits.add(new SearchFanOut.Hit(engineName, item.title, item.link,
+                        truncateText(item.snippet, config.snippetLength)));
+            }
+            return hits;
+        }
+
         String getFormattedResults() {
             if (items.isEmpty()) {
                 return "";
@@ -540,13 +521,7 @@ public class SeleniumBrowserSearchTools implements ApplicationListener<ContextRe
         }
     }
 
-    // Custom exceptions
-    private static class SeleniumInitializationException extends RuntimeException {
-        SeleniumInitializationException(String message, Throwable cause) {
-            super(message, cause);
-        }
-    }
-
+    // Custom exception
     private static class SearchException extends Exception {
         SearchException(String message) {
             super(message);
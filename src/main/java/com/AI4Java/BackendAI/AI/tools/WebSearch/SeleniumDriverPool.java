@@ -0,0 +1,308 @@
+package com.AI4Java.BackendAI.AI.tools.WebSearch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of ChromeDriver instances shared by the Selenium search and scraper tools,
+ * owned by {@link BrowserRuntime}. A WebDriver is not thread-safe, so each call leases a
+ * driver exclusively. Drivers are created on demand up to {@code size}, health-checked on
+ * lease (a crashed Chrome is respawned), reset on release, recycled once older than
+ * {@code maxAge} and quit by {@link #closeIdle} once unused.
+ */
+public class SeleniumDriverPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeleniumDriverPool.class);
+
+    // Browser Configuration
+    private static final int VIEWPORT_WIDTH = 1920;
+    private static final int VIEWPORT_HEIGHT = 1080;
+    private static final boolean HEADLESS_MODE = true;
+
+    // Timeout Configuration
+    private static final Duration PAGE_LOAD_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration IMPLICIT_WAIT_TIMEOUT = Duration.ofSeconds(5);
+
+    // User Agents Pool
+    private static final List<String> USER_AGENTS = List.of(
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36",
+            "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:109.0) Gecko/20100101 Firefox/115.0",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10.15; rv:109.0) Gecko/20100101 Firefox/115.0"
+    );
+
+    // Chrome Options
+    private static final List<String> CHROME_ARGS = List.of(
+            "--no-sandbox",
+            "--disable-dev-shm-usage",
+            "--disable-gpu",
+            "--window-size=" + VIEWPORT_WIDTH + "," + VIEWPORT_HEIGHT,
+            "--disable-blink-features=AutomationControlled",
+            "--disable-extensions",
+            "--no-first-run",
+            "--disable-default-apps",
+            "--disable-infobars",
+            "--disable-notifications",
+            "--disable-popup-blocking",
+            "--disable-translate",
+            "--disable-logging",
+            "--disable-background-timer-throttling",
+            "--disable-renderer-backgrounding",
+            "--disable-backgrounding-occluded-windows",
+            "--disable-background-networking",
+            "--disable-client-side-phishing-detection",
+            "--memory-pressure-off",
+            "--max_old_space_size=4096"
+    );
+
+    private static final List<String> EXCLUDE_SWITCHES = List.of("enable-automation");
+
+    // JavaScript for stealth
+    private static final String STEALTH_SCRIPT =
+            "Object.defineProperty(navigator, 'webdriver', {get: () => undefined}); " +
+                    "Object.defineProperty(navigator, 'plugins', {get: () => Array.from({length: 5}, () => ({}))}); " +
+                    "Object.defineProperty(navigator, 'languages', {get: () => ['en-US', 'en']}); " +
+                    "window.chrome = {runtime: {}, loadTimes: () => ({}), csi: () => ({})};";
+
+    private final int poolSize;
+    private final Duration maxAge;
+    private final Duration leaseTimeout;
+
+    // One permit per driver slot; idle drivers wait in the deque, most recently used first
+    private final Semaphore permits;
+    private final BlockingDeque<PooledDriver> idleDrivers = new LinkedBlockingDeque<>();
+    private final AtomicInteger liveDrivers = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final SecureRandom random = new SecureRandom();
+
+    private final Timer leaseWaitTimer;
+    private final Counter respawnCounter;
+    private final Counter leaseTimeoutCounter;
+
+    private volatile boolean shutdown;
+
+    SeleniumDriverPool(MeterRegistry meterRegistry, int poolSize, Duration maxAge, Duration leaseTimeout) {
+        this.poolSize = Math.max(1, poolSize);
+        this.maxAge = maxAge;
+        this.leaseTimeout = leaseTimeout;
+        this.permits = new Semaphore(this.poolSize, true);
+
+        Gauge.builder("browser.pool.size", liveDrivers, AtomicInteger::get)
+                .tag("pool", "selenium").register(meterRegistry);
+        Gauge.builder("browser.pool.idle", idleDrivers, BlockingDeque::size)
+                .tag("pool", "selenium").register(meterRegistry);
+        Gauge.builder("browser.pool.in_use", permits, semaphore -> this.poolSize - semaphore.availablePermits())
+                .tag("pool", "selenium").register(meterRegistry);
+        Gauge.builder("browser.pool.waiting", waiting, AtomicInteger::get)
+                .tag("pool", "selenium").register(meterRegistry);
+        this.leaseWaitTimer = Timer.builder("browser.pool.lease.wait")
+                .tag("pool", "selenium").register(meterRegistry);
+        this.respawnCounter = Counter.builder("browser.pool.recycled")
+                .tag("pool", "selenium").register(meterRegistry);
+        this.leaseTimeoutCounter = Counter.builder("browser.pool.lease.timeouts")
+                .tag("pool", "selenium").register(meterRegistry);
+    }
+
+    public Lease lease() throws InterruptedException, TimeoutException {
+        if (shutdown) {
+            throw new IllegalStateException("Selenium driver pool is shut down");
+        }
+
+        long startNanos = System.nanoTime();
+        waiting.incrementAndGet();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(leaseTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } finally {
+            waiting.decrementAndGet();
+            leaseWaitTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            leaseTimeoutCounter.increment();
+            throw new TimeoutException("No Selenium driver available within " + leaseTimeout);
+        }
+
+        try {
+            PooledDriver pooledDriver = idleDrivers.pollFirst();
+            if (pooledDriver != null && !isUsable(pooledDriver)) {
+                respawnCounter.increment();
+                quit(pooledDriver);
+                pooledDriver = null;
+            }
+            return new Lease(pooledDriver != null ? pooledDriver : createDriver());
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void release(PooledDriver pooledDriver, boolean broken) {
+        try {
+            if (broken || shutdown) {
+                quit(pooledDriver);
+                return;
+            }
+            try {
+                pooledDriver.driver.manage().deleteAllCookies();
+                pooledDriver.driver.get("about:blank");
+                pooledDriver.lastReleasedNanos = System.nanoTime();
+                idleDrivers.offerFirst(pooledDriver);
+            } catch (Exception e) {
+                logger.debug("Reset of Selenium driver failed, discarding: {}", e.getMessage());
+                quit(pooledDriver);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Quits idle drivers that have not been leased for {@code idleTimeout}.
+     */
+    int closeIdle(Duration idleTimeout) {
+        int closed = 0;
+        long cutoff = System.nanoTime() - idleTimeout.toNanos();
+        // A driver taken off the deque is covered by a permit, so a lease that finds the deque
+        // empty meanwhile cannot start an extra driver beyond size
+        while (permits.tryAcquire()) {
+            try {
+                // Least recently used drivers sit at the tail
+                PooledDriver oldest = idleDrivers.pollLast();
+                if (oldest == null) break;
+                if (oldest.lastReleasedNanos - cutoff > 0) {
+                    idleDrivers.offerLast(oldest);
+                    break;
+                }
+                quit(oldest);
+                closed++;
+            } finally {
+                permits.release();
+            }
+        }
+        return closed;
+    }
+
+    private boolean isUsable(PooledDriver pooledDriver) {
+        if (System.nanoTime() - pooledDriver.createdAtNanos > maxAge.toNanos()) {
+            logger.debug("Recycling Selenium driver older than {}", maxAge);
+            return false;
+        }
+        try {
+            // Cheap round trip; throws if Chrome crashed or the session is gone
+            pooledDriver.driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            logger.warn("Selenium driver failed health check, respawning: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private PooledDriver createDriver() {
+        WebDriver driver = new ChromeDriver(createChromeOptions());
+        try {
+            driver.manage().timeouts().pageLoadTimeout(PAGE_LOAD_TIMEOUT);
+            driver.manage().timeouts().implicitlyWait(IMPLICIT_WAIT_TIMEOUT);
+            ((JavascriptExecutor) driver).executeScript(STEALTH_SCRIPT);
+        } catch (RuntimeException e) {
+            driver.quit();
+            throw e;
+        }
+        liveDrivers.incrementAndGet();
+        logger.debug("Started Selenium driver ({} live)", liveDrivers.get());
+        return new PooledDriver(driver);
+    }
+
+    private ChromeOptions createChromeOptions() {
+        ChromeOptions options = new ChromeOptions();
+
+        for (String arg : CHROME_ARGS) {
+            options.addArguments(arg);
+        }
+        if (HEADLESS_MODE) {
+            options.addArguments("--headless=new");
+        }
+        options.addArguments("--user-agent=" + USER_AGENTS.get(random.nextInt(USER_AGENTS.size())));
+
+        options.setExperimentalOption("excludeSwitches", EXCLUDE_SWITCHES);
+        options.setExperimentalOption("useAutomationExtension", false);
+
+        Map<String, Object> prefs = new HashMap<>();
+        prefs.put("profile.default_content_setting_values.notifications", 2);
+        prefs.put("profile.managed_default_content_settings.images", 2); // Disable images for speed
+        prefs.put("profile.default_content_settings.popups", 0);
+        options.setExperimentalOption("prefs", prefs);
+
+        return options;
+    }
+
+    private void quit(PooledDriver pooledDriver) {
+        liveDrivers.decrementAndGet();
+        try {
+            pooledDriver.driver.quit();
+        } catch (Exception e) {
+            logger.debug("Error quitting Selenium driver: {}", e.getMessage());
+        }
+    }
+
+    void shutdown() {
+        shutdown = true;
+        logger.info("Shutting down Selenium driver pool ({} live drivers)", liveDrivers.get());
+        PooledDriver pooledDriver;
+        while ((pooledDriver = idleDrivers.pollFirst()) != null) {
+            quit(pooledDriver);
+        }
+    }
+
+    /**
+     * Exclusive use of one pooled driver. Call {@link #markBroken()} if the driver may be unusable.
+     */
+    public final class Lease implements AutoCloseable {
+        private final PooledDriver pooledDriver;
+        private boolean broken;
+
+        private Lease(PooledDriver pooledDriver) {
+            this.pooledDriver = pooledDriver;
+        }
+
+        public WebDriver driver() {
+            return pooledDriver.driver;
+        }
+
+        public void markBroken() {
+            this.broken = true;
+        }
+
+        @Override
+        public void close() {
+            release(pooledDriver, broken);
+        }
+    }
+
+    private static class PooledDriver {
+        final WebDriver driver;
+        final long createdAtNanos = System.nanoTime();
+        long lastReleasedNanos = createdAtNanos;
+
+        PooledDriver(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+}
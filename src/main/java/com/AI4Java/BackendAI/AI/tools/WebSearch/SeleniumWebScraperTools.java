@@ -1,19 +1,19 @@
 package com.AI4Java.BackendAI.AI.tools.WebSearch;
 
-import jakarta.annotation.PostConstruct;
+import com.AI4Java.BackendAI.AI.tools.Scraping.ScrapeCache;
+import com.AI4Java.BackendAI.AI.tools.Scraping.ScrapedPage;
 import jakarta.annotation.PreDestroy;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.stereotype.Service;
@@ -21,7 +21,6 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.security.SecureRandom;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -34,14 +33,7 @@ public class SeleniumWebScraperTools implements ApplicationListener<ContextRefre
 
     private static final Logger logger = LoggerFactory.getLogger(SeleniumWebScraperTools.class);
 
-    // Browser Configuration
-    private static final int VIEWPORT_WIDTH = 1920;
-    private static final int VIEWPORT_HEIGHT = 1080;
-    private static final boolean HEADLESS_MODE = true;
-
     // Timeout Configuration
-    private static final Duration PAGE_LOAD_TIMEOUT = Duration.ofSeconds(30);
-    private static final Duration IMPLICIT_WAIT_TIMEOUT = Duration.ofSeconds(10);
     private static final Duration EXPLICIT_WAIT_TIMEOUT = Duration.ofSeconds(15);
     private static final int DYNAMIC_CONTENT_WAIT_MS = 2000;
 
@@ -79,38 +71,6 @@ public class SeleniumWebScraperTools implements ApplicationListener<ContextRefre
     private static final String IMAGE_SELECTOR = "img[src]";
     private static final String HEADING_SELECTOR = "h1, h2, h3, h4, h5, h6";
 
-    // User Agents Pool
-    private static final List<String> USER_AGENTS = List.of(
-            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36",
-            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.114 Safari/537.36",
-            "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.101 Safari/537.36",
-            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36",
-            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36",
-            "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:109.0) Gecko/20100101 Firefox/115.0",
-            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10.15; rv:109.0) Gecko/20100101 Firefox/115.0"
-    );
-
-    // Chrome Options
-    private static final List<String> CHROME_ARGS = List.of(
-            "--disable-gpu",
-            "--window-size=" + VIEWPORT_WIDTH + "," + VIEWPORT_HEIGHT,
-            "--blink-settings=imagesEnabled=false",
-            "--disable-dev-shm-usage",
-            "--no-sandbox",
-            "--disable-extensions",
-            "--disable-logging",
-            "--disable-notifications",
-            "--disable-popup-blocking",
-            "--disable-translate",
-            "--disable-features=VizDisplayCompositor",
-            "--disable-blink-features=AutomationControlled",
-            "--memory-pressure-off",
-            "--disable-background-networking",
-            "--disable-client-side-phishing-detection"
-    );
-
-    private static final List<String> EXCLUDE_SWITCHES = List.of("enable-automation");
-
     // Stealth Scripts
     private static final String[] STEALTH_SCRIPTS = {
             "Object.defineProperty(navigator, 'webdriver', {get: () => undefined})",
@@ -120,7 +80,10 @@ public class SeleniumWebScraperTools implements ApplicationListener<ContextRefre
     };
 
     // Instance variables
-    private final SecureRandom random = new SecureRandom();
+    @Autowired
+    private BrowserRuntime browserRuntime;
+    @Autowired
+    private ScrapeCache scrapeCache;
     private final AtomicLong scrapeCount = new AtomicLong(0);
 
     @Override
@@ -146,6 +109,10 @@ public class SeleniumWebScraperTools implements ApplicationListener<ContextRefre
             description = "Scrapes and extracts content from any webpage URL using Selenium browser automation. " +
                     "Returns clean text content, title, and key metadata information.")
     public String scrape_webpage(@ToolParam(description = "Full http/https URL to scrape") String url) {
+        return scrapeWebpage(url, true);
+    }
+
+    private String scrapeWebpage(String url, boolean allowCached) {
         long scrapeId = scrapeCount.incrementAndGet();
         logger.debug("Starting webpage scrape #{} for URL: {}", scrapeId, url);
 
@@ -157,8 +124,17 @@ public class SeleniumWebScraperTools implements ApplicationListener<ContextRefre
         }
 
         try {
+            // A browser cannot revalidate with ETag / Last-Modified, so only fresh entries are reused
+            ScrapeCache.Lookup cached = allowCached ? scrapeCache.lookup(validation.getCleanUrl()) : null;
+            if (cached != null && cached.isFresh()) {
+                logger.info("Webpage scrape #{} served from cache for domain: {}", scrapeId, extractDomain(validation.getCleanUrl()));
+                return formatWebpageResult(cached.getPage());
+            }
+
             String html = fetchPageContent(validation.getCleanUrl(), scrapeId);
-            String result = parseWebpageContent(html, validation.getCleanUrl());
+            ScrapedPage page = parseWebpageContent(html, validation.getCleanUrl());
+            scrapeCache.put(validation.getCleanUrl(), page);
+            String result = formatWebpageResult(page);
 
             logger.info("Webpage scrape #{} completed successfully for domain: {}",
                     scrapeId, extractDomain(validation.getCleanUrl()));
@@ -222,7 +198,8 @@ public class SeleniumWebScraperTools implements ApplicationListener<ContextRefre
         }
 
         try {
-            String content = scrape_webpage(validation.getCleanUrl());
+            // Change detection needs the live page, never a cached copy
+            String content = scrapeWebpage(validation.getCleanUrl(), false);
             String contentHash = generateContentHash(content);
             String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
 
@@ -248,33 +225,17 @@ public class SeleniumWebScraperTools implements ApplicationListener<ContextRefre
     }
 
     private String fetchPageContent(String url, long scrapeId) throws ScrapingException {
-        WebDriver driver = null;
-        try {
-            ChromeOptions options = createChromeOptions();
-            driver = new ChromeDriver(options);
-
-            configureTimeouts(driver);
-
-            logger.debug("Navigating to URL for scrape #{}: {}", scrapeId, url);
-            driver.get(url);
-
-            // Optional cookie addition (non-critical)
-            addSessionCookie(driver, scrapeId);
-
-            // Apply stealth techniques
-            applyStealthTechniques(driver, scrapeId);
-
-            // Wait for page to be fully loaded
-            waitForPageLoad(driver, scrapeId);
-
-            // Additional wait for dynamic content
-            Thread.sleep(DYNAMIC_CONTENT_WAIT_MS);
-
-            String pageSource = driver.getPageSource();
-            logger.debug("Successfully fetched page source for scrape #{}, length: {}", scrapeId, pageSource.length());
-
-            return pageSource;
+        // Drivers are shared with the Selenium search tool instead of launching Chrome per scrape
+        try (SeleniumDriverPool.Lease lease = browserRuntime.leaseDriver()) {
+            try {
+                return fetchPageSource(lease.driver(), url, scrapeId);
+            } catch (WebDriverException e) {
+                lease.markBroken();
+                throw e;
+            }
 
+        } catch (java.util.concurrent.TimeoutException e) {
+            throw new ScrapingException("All browsers are busy. Please try again in a few moments.");
         } catch (TimeoutException e) {
             throw new ScrapingException("Page load timeout: " + e.getMessage());
         } catch (InterruptedException e) {
@@ -282,44 +243,29 @@ public class SeleniumWebScraperTools implements ApplicationListener<ContextRefre
             throw new ScrapingException("Scraping interrupted: " + e.getMessage());
         } catch (Exception e) {
             throw new ScrapingException("Failed to fetch page content: " + e.getMessage());
-        } finally {
-            if (driver != null) {
-                try {
-                    driver.quit();
-                } catch (Exception e) {
-                    logger.warn("Error closing driver for scrape #{}: {}", scrapeId, e.getMessage());
-                }
-            }
         }
     }
 
-    private ChromeOptions createChromeOptions() {
-        ChromeOptions options = new ChromeOptions();
+    private String fetchPageSource(WebDriver driver, String url, long scrapeId) throws InterruptedException {
+        logger.debug("Navigating to URL for scrape #{}: {}", scrapeId, url);
+        driver.get(url);
 
-        // Add headless mode
-        if (HEADLESS_MODE) {
-            options.addArguments("--headless=new");
-        }
+        // Optional cookie addition (non-critical)
+        addSessionCookie(driver, scrapeId);
 
-        // Add all arguments
-        for (String arg : CHROME_ARGS) {
-            options.addArguments(arg);
-        }
+        // Apply stealth techniques
+        applyStealthTechniques(driver, scrapeId);
 
-        // Add random user agent
-        String userAgent = getRandomUserAgent();
-        options.addArguments("--user-agent=" + userAgent);
+        // Wait for page to be fully loaded
+        waitForPageLoad(driver, scrapeId);
 
-        // Experimental options
-        options.setExperimentalOption("useAutomationExtension", false);
-        options.setExperimentalOption("excludeSwitches", EXCLUDE_SWITCHES);
+        // Additional wait for dynamic content
+        Thread.sleep(DYNAMIC_CONTENT_WAIT_MS);
 
-        return options;
-    }
+        String pageSource = driver.getPageSource();
+        logger.debug("Successfully fetched page source for scrape #{}, length: {}", scrapeId, pageSource.length());
 
-    private void configureTimeouts(WebDriver driver) {
-        driver.manage().timeouts().pageLoadTimeout(PAGE_LOAD_TIMEOUT);
-        driver.manage().timeouts().implicitlyWait(IMPLICIT_WAIT_TIMEOUT);
+        return pageSource;
     }
 
     private void addSessionCookie(WebDriver driver, long scrapeId) {
@@ -380,18 +326,14 @@ public class SeleniumWebScraperTools implements ApplicationListener<ContextRefre
         }
     }
 
-    private String getRandomUserAgent() {
-        return USER_AGENTS.get(random.nextInt(USER_AGENTS.size()));
-    }
-
-    private String parseWebpageContent(String html, String url) throws ScrapingException {
+    private ScrapedPage parseWebpageContent(String html, String url) throws ScrapingException {
         try {
             Document doc = Jsoup.parse(html);
 
             WebpageMetadata metadata = extractMetadata(doc, url);
             String mainContent = extractMainContent(doc);
 
-            return formatWebpageResult(metadata, mainContent);
+            return metadata.toScrapedPage(url, mainContent);
 
         } catch (Exception e) {
             throw new ScrapingException("Failed to parse webpage content: " + e.getMessage());
@@ -425,6 +367,10 @@ public class SeleniumWebScraperTools implements ApplicationListener<ContextRefre
         return body != null ? body.text() : "No content found";
     }
 
+    private String formatWebpageResult(ScrapedPage page) {
+        return formatWebpageResult(WebpageMetadata.from(page), page.getContent());
+    }
+
     private String formatWebpageResult(WebpageMetadata metadata, String content) {
         StringBuilder result = new StringBuilder();
         result.append("📄 **Webpage Content Extracted**\n\n");
@@ -655,6 +601,16 @@ public class SeleniumWebScraperTools implements ApplicationListener<ContextRefre
             this.author = author != null ? author : "";
             this.publishDate = publishDate != null ? publishDate : "";
         }
+
+        static WebpageMetadata from(ScrapedPage page) {
+            return new WebpageMetadata(page.getTitle(), page.getDomain(), page.getDescription(),
+                    page.getAuthor(), page.getPublishDate());
+        }
+
+        ScrapedPage toScrapedPage(String url, String content) {
+            return new ScrapedPage(url, title, domain, description, author, publishDate, content,
+                    null, null, System.currentTimeMillis());
+        }
     }
 
     // Custom exception
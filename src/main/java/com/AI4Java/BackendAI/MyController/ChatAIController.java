@@ -2,14 +2,10 @@ package com.AI4Java.BackendAI.MyController;
 
 import com.AI4Java.BackendAI.AI.Dto.ChatRequest;
 import com.AI4Java.BackendAI.AI.AiClient_Updated;
-import com.AI4Java.BackendAI.entries.SessionEntries;
-import com.AI4Java.BackendAI.entries.UserEntries;
-import com.AI4Java.BackendAI.services.SessionServices;
-import com.AI4Java.BackendAI.services.UserServices;
+import com.AI4Java.BackendAI.exceptions.SessionException;
+import com.AI4Java.BackendAI.services.SessionAccessGuard;
 import com.AI4Java.BackendAI.utils.JwtUtil;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.security.SignatureException;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 import org.bson.types.ObjectId;
 import org.slf4j.Logger;
@@ -18,13 +14,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/chat")
@@ -35,44 +28,19 @@ public class ChatAIController {
     @Autowired
     private AiClient_Updated chatAIService;
     @Autowired
-    private SessionServices sessionServices;
-    @Autowired
-    private UserServices userServices;
-    @Autowired
-    private JwtUtil jwtUtil;
-    @Autowired
-    private UserDetailsService userDetailsService;
+    private SessionAccessGuard sessionAccessGuard;
 
 
     @PostMapping(value = "/{sessionId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public ResponseEntity<Flux<String>> handleChat(@PathVariable ObjectId sessionId, @RequestBody ChatRequest request, HttpServletRequest httpRequest) {
-        String username = null;
-        try {
-            String authHeader = httpRequest.getHeader("Authorization");
-            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-                log.warn("Missing or invalid Authorization header for chat request to session: {}", sessionId);
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body(Flux.just("Error: Unauthorized"));
-            }
-
-            String jwt = authHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-            if (!jwtUtil.validateToken(jwt, userDetails)) {
-                log.warn("Invalid JWT token for user: {}", username);
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body(Flux.just("Error: Unauthorized"));
-            }
-        } catch (ExpiredJwtException | MalformedJwtException | SignatureException e) {
-            log.warn("JWT validation error: {}", e.getMessage());
+        // Claims are verified and stored on the request by JwtFilter; absent means no valid token
+        Claims claims = (Claims) httpRequest.getAttribute(JwtUtil.CLAIMS_ATTRIBUTE);
+        if (claims == null) {
+            log.warn("Missing or invalid JWT for chat request to session: {}", sessionId);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Flux.just("Error: Unauthorized"));
-        } catch (Exception e) {
-            log.error("Error during manual authentication: {}", e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Flux.just("Error: Internal server error"));
         }
+        String username = claims.getSubject();
 
 
         log.info("Chat request for session: {} from user: {}", sessionId, username);
@@ -85,29 +53,14 @@ public class ChatAIController {
                     .body(Flux.just("Error: Prompt cannot be empty"));
             }
 
-            // Check if session exists
-            SessionEntries session = sessionServices.getById(sessionId).orElse(null);
-            if (session == null) {
+            // Check that the session exists and the user owns it
+            try {
+                sessionAccessGuard.requireOwner(sessionId, username);
+            } catch (SessionException.SessionNotFoundException e) {
                 log.warn("Session not found with ID: {}", sessionId);
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(Flux.just("Session not found with ID: " + sessionId));
-            }
-
-            // Get current user
-            UserEntries currentUser = userServices.findByUserName(username);
-            if (currentUser == null) {
-                log.error("User not found: {}", username);
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Flux.just("User not found"));
-            }
-
-            // Check if user owns the session
-            List<SessionEntries> userSessions = currentUser.getSessionEntries()
-                    .stream()
-                    .filter(userSession -> userSession.getSessionId().equals(sessionId))
-                    .toList();
-
-            if (userSessions.isEmpty()) {
+            } catch (SessionException.SessionAccessDeniedException e) {
                 log.warn("User {} attempted to access unauthorized session: {}", username, sessionId);
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Flux.just("Forbidden: You do not own this session"));
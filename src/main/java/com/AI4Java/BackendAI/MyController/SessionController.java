@@ -1,16 +1,15 @@
 package com.AI4Java.BackendAI.MyController;
 
 import com.AI4Java.BackendAI.dto.ApiResponse;
+import com.AI4Java.BackendAI.dto.message.MessagePageDto;
 import com.AI4Java.BackendAI.dto.session.SessionCreateDto;
 import com.AI4Java.BackendAI.dto.session.SessionResponseDto;
 import com.AI4Java.BackendAI.dto.session.SessionUpdateDto;
 import com.AI4Java.BackendAI.entries.SessionEntries;
-import com.AI4Java.BackendAI.entries.UserEntries;
 import com.AI4Java.BackendAI.exceptions.SessionException;
-import com.AI4Java.BackendAI.exceptions.UserException;
 import com.AI4Java.BackendAI.mapper.SessionMapper;
+import com.AI4Java.BackendAI.services.SessionAccessGuard;
 import com.AI4Java.BackendAI.services.SessionServices;
-import com.AI4Java.BackendAI.services.UserServices;
 import jakarta.validation.Valid;
 import org.bson.types.ObjectId;
 import org.slf4j.Logger;
@@ -22,6 +21,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -32,14 +32,18 @@ public class SessionController {
 
     private static final Logger log = LoggerFactory.getLogger(SessionController.class);
 
+    // Session detail carries only the latest messages; older ones are paged via /{id}/messages
+    private static final int MESSAGE_PREVIEW_SIZE = 20;
+    private static final int MAX_MESSAGE_PAGE_SIZE = 200;
+
     @Autowired
     private SessionServices sessionServices;
 
     @Autowired
-    private UserServices userServices;
+    private SessionMapper sessionMapper;
 
     @Autowired
-    private SessionMapper sessionMapper;
+    private SessionAccessGuard sessionAccessGuard;
 
     @PostMapping("/create")
     public ResponseEntity<ApiResponse<SessionResponseDto>> createSession(@Valid @RequestBody SessionCreateDto sessionCreateDto) {
@@ -55,7 +59,7 @@ public class SessionController {
         log.info("Session created successfully for user: {}", username);
 
         // Convert back to response DTO
-        SessionResponseDto responseDto = sessionMapper.toResponseDto(sessionEntity);
+        SessionResponseDto responseDto = sessionMapper.toResponseDto(sessionEntity, new ArrayList<>());
 
         return ResponseEntity.status(HttpStatus.CREATED)
             .body(ApiResponse.success("Session created successfully", responseDto));
@@ -67,13 +71,7 @@ public class SessionController {
         String username = authentication.getName();
         log.info("Deleting session with id: {} for user: {}", id, username);
 
-        ObjectId objectId;
-        try {
-            objectId = new ObjectId(id);
-        } catch (IllegalArgumentException e) {
-            log.error("Invalid session id: {}", id);
-            throw new SessionException.SessionNotFoundException(id);
-        }
+        ObjectId objectId = sessionAccessGuard.parseId(id);
 
         boolean removed = sessionServices.deleteById(objectId, username);
         if (!removed) {
@@ -91,28 +89,7 @@ public class SessionController {
         String username = authentication.getName();
         log.info("Updating session with id: {} for user: {}", id, username);
 
-        ObjectId objectId;
-        try {
-            objectId = new ObjectId(id);
-        } catch (IllegalArgumentException e) {
-            log.error("Invalid session id: {}", id);
-            throw new SessionException.SessionNotFoundException(id);
-        }
-
-        UserEntries currUser = userServices.findByUserName(username);
-        if (currUser == null) {
-            log.error("User not found: {}", username);
-            throw new UserException.UserNotFoundException(username);
-        }
-
-        // Check if user has access to this session
-        boolean hasAccess = currUser.getSessionEntries()
-                .stream().anyMatch(session -> session.getSessionId().equals(objectId));
-
-        if (!hasAccess) {
-            log.error("User: {} does not have access to session: {}", username, id);
-            throw new SessionException.SessionAccessDeniedException(id);
-        }
+        ObjectId objectId = sessionAccessGuard.requireOwner(id, username);
 
         Optional<SessionEntries> sessionEntry = sessionServices.getById(objectId);
         if (sessionEntry.isEmpty()) {
@@ -130,7 +107,7 @@ public class SessionController {
         sessionServices.updateSession(session, username);
         log.info("Session updated successfully with id: {}", id);
 
-        SessionResponseDto responseDto = sessionMapper.toResponseDto(session);
+        SessionResponseDto responseDto = sessionMapper.toResponseDto(session, sessionServices.getRecentMessages(objectId, MESSAGE_PREVIEW_SIZE));
         return ResponseEntity.ok(ApiResponse.success("Session updated successfully", responseDto));
     }
 
@@ -140,28 +117,7 @@ public class SessionController {
         String username = authentication.getName();
         log.info("Retrieving session with id: {} for user: {}", id, username);
 
-        ObjectId objectId;
-        try {
-            objectId = new ObjectId(id);
-        } catch (IllegalArgumentException e) {
-            log.error("Invalid session id: {}", id);
-            throw new SessionException.SessionNotFoundException(id);
-        }
-
-        UserEntries currUser = userServices.findByUserName(username);
-        if (currUser == null) {
-            log.error("User not found: {}", username);
-            throw new UserException.UserNotFoundException(username);
-        }
-
-        // Check if user has access to this session
-        boolean hasAccess = currUser.getSessionEntries()
-                .stream().anyMatch(session -> session.getSessionId().equals(objectId));
-
-        if (!hasAccess) {
-            log.error("User: {} does not have access to session: {}", username, id);
-            throw new SessionException.SessionAccessDeniedException(id);
-        }
+        ObjectId objectId = sessionAccessGuard.requireOwner(id, username);
 
         Optional<SessionEntries> sessionEntry = sessionServices.getById(objectId);
         if (sessionEntry.isEmpty()) {
@@ -169,24 +125,37 @@ public class SessionController {
             throw new SessionException.SessionNotFoundException(id);
         }
 
-        SessionResponseDto responseDto = sessionMapper.toResponseDto(sessionEntry.get());
+        SessionResponseDto responseDto = sessionMapper.toResponseDto(sessionEntry.get(), sessionServices.getRecentMessages(objectId, MESSAGE_PREVIEW_SIZE));
         log.info("Session retrieved successfully with id: {}", id);
         return ResponseEntity.ok(ApiResponse.success("Session retrieved successfully", responseDto));
     }
 
+    @GetMapping("/{id}/messages")
+    public ResponseEntity<ApiResponse<MessagePageDto>> getSessionMessages(@PathVariable String id,
+                                                                         @RequestParam(required = false) Long before,
+                                                                         @RequestParam(defaultValue = "50") int limit) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        log.info("Retrieving messages for session: {} before: {} limit: {} for user: {}", id, before, limit, username);
+
+        ObjectId objectId = sessionAccessGuard.requireOwner(id, username);
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_MESSAGE_PAGE_SIZE));
+        // Fetch one extra row to know whether an older page exists
+        MessagePageDto page = sessionMapper.toMessagePageDto(
+                sessionServices.getMessagesBefore(objectId, before, pageSize + 1), pageSize);
+
+        log.info("Returned {} messages for session: {}", page.getMessages().size(), id);
+        return ResponseEntity.ok(ApiResponse.success("Messages retrieved successfully", page));
+    }
+
     @GetMapping
     public ResponseEntity<ApiResponse<List<SessionResponseDto>>> getAllSessions() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
         log.info("Retrieving all sessions for user: {}", username);
 
-        UserEntries user = userServices.findByUserName(username);
-        if (user == null) {
-            log.error("User not found: {}", username);
-            throw new UserException.UserNotFoundException(username);
-        }
-
-        List<SessionEntries> sessionEntries = user.getSessionEntries();
+        List<SessionEntries> sessionEntries = sessionServices.getByOwner(username);
 
         // Convert to DTOs (without messages for list view)
         List<SessionResponseDto> sessionDtos = sessionEntries.stream()
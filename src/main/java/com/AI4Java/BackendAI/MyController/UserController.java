@@ -5,6 +5,7 @@ import com.AI4Java.BackendAI.dto.user.*;
 import com.AI4Java.BackendAI.entries.UserEntries;
 import com.AI4Java.BackendAI.exceptions.UserException;
 import com.AI4Java.BackendAI.mapper.UserMapper;
+import com.AI4Java.BackendAI.services.SessionServices;
 import com.AI4Java.BackendAI.services.UserServices;
 import com.AI4Java.BackendAI.utils.JwtUtil;
 import jakarta.validation.Valid;
@@ -18,8 +19,6 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.*;
 
 
@@ -33,10 +32,10 @@ public class UserController {
     private UserServices userServices;
 
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private SessionServices sessionServices;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private AuthenticationManager authenticationManager;
 
     @Autowired
     private JwtUtil jwtUtil;
@@ -65,7 +64,7 @@ public class UserController {
         log.info("User registered successfully: {}", savedUser.getUserName());
 
         // Convert back to response DTO
-        UserResponseDto responseDto = userMapper.toResponseDto(savedUser);
+        UserResponseDto responseDto = userMapper.toResponseDto(savedUser, 0);
 
         return ResponseEntity.status(HttpStatus.CREATED)
             .body(ApiResponse.success("User registered successfully", responseDto));
@@ -79,19 +78,16 @@ public class UserController {
             authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginDto.getUserName(), loginDto.getPassword()));
 
-            // Get user details
-            UserDetails userDetails = userDetailsService.loadUserByUsername(loginDto.getUserName());
-            String jwt = jwtUtil.generateToken(userDetails.getUsername());
-
-            // Get user entity for response
+            // Get user entity for token claims and response
             UserEntries userEntity = userServices.findByUserName(loginDto.getUserName());
             if (userEntity == null) {
                 log.error("User not found: {}", loginDto.getUserName());
                 throw new UserException.UserNotFoundException(loginDto.getUserName());
             }
+            String jwt = jwtUtil.generateToken(userEntity.getUserName(), userEntity.getRoles(), userEntity.getTokenVersion());
 
             // Create response
-            UserResponseDto userResponseDto = userMapper.toResponseDto(userEntity);
+            UserResponseDto userResponseDto = userMapper.toResponseDto(userEntity, sessionServices.countByOwner(userEntity.getUserName()));
             LoginResponseDto loginResponse = new LoginResponseDto(jwt, userResponseDto);
             log.info("User logged in successfully: {}", loginDto.getUserName());
             return ResponseEntity.ok(ApiResponse.success("Login successful", loginResponse));
@@ -114,7 +110,7 @@ public class UserController {
             throw new UserException.UserNotFoundException(username);
         }
 
-        UserResponseDto responseDto = userMapper.toResponseDto(userEntity);
+        UserResponseDto responseDto = userMapper.toResponseDto(userEntity, sessionServices.countByOwner(userEntity.getUserName()));
         log.info("User profile retrieved successfully for user: {}", username);
         return ResponseEntity.ok(ApiResponse.success("User profile retrieved successfully", responseDto));
     }
@@ -0,0 +1,43 @@
+package com.AI4Java.BackendAI.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+
+    public static final String USER_DETAILS_CACHE = "userDetails";
+    public static final String TOKEN_VERSION_CACHE = "tokenVersions";
+
+    // Registered up front so actuator binds its hit/miss metrics (recordStats) at startup
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> userDetailsCacheCustomizer(
+            @Value("${cache.user-details.max-size:10000}") long maxSize,
+            @Value("${cache.user-details.ttl:5m}") Duration ttl) {
+        return cacheManager -> cacheManager.registerCustomCache(USER_DETAILS_CACHE,
+                Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(ttl)
+                        .recordStats()
+                        .build());
+    }
+
+    // Short TTL bounds how long another instance may accept a revoked stateless token
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> tokenVersionCacheCustomizer(
+            @Value("${cache.token-version.max-size:10000}") long maxSize,
+            @Value("${cache.token-version.ttl:30s}") Duration ttl) {
+        return cacheManager -> cacheManager.registerCustomCache(TOKEN_VERSION_CACHE,
+                Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(ttl)
+                        .recordStats()
+                        .build());
+    }
+}
@@ -0,0 +1,73 @@
+package com.AI4Java.BackendAI.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "ai.memory")
+public class MemoryProperties {
+
+    // Hard cap on messages stored per session
+    private int maxStoredMessages = 8192;
+
+    // Messages pulled from Mongo per prompt when no per-model window is set
+    private int defaultWindow = 50;
+
+    // Estimated tokens of history per prompt (0 disables the token-budgeted mode)
+    private int defaultTokenBudget = 0;
+
+    // Per-model overrides, keyed by model name
+    private Map<String, Integer> windows = new HashMap<>();
+    private Map<String, Integer> tokenBudgets = new HashMap<>();
+
+    public int windowFor(String model) {
+        return windows.getOrDefault(model, defaultWindow);
+    }
+
+    public int tokenBudgetFor(String model) {
+        return tokenBudgets.getOrDefault(model, defaultTokenBudget);
+    }
+
+    public int getMaxStoredMessages() {
+        return maxStoredMessages;
+    }
+
+    public void setMaxStoredMessages(int maxStoredMessages) {
+        this.maxStoredMessages = maxStoredMessages;
+    }
+
+    public int getDefaultWindow() {
+        return defaultWindow;
+    }
+
+    public void setDefaultWindow(int defaultWindow) {
+        this.defaultWindow = defaultWindow;
+    }
+
+    public int getDefaultTokenBudget() {
+        return defaultTokenBudget;
+    }
+
+    public void setDefaultTokenBudget(int defaultTokenBudget) {
+        this.defaultTokenBudget = defaultTokenBudget;
+    }
+
+    public Map<String, Integer> getWindows() {
+        return windows;
+    }
+
+    public void setWindows(Map<String, Integer> windows) {
+        this.windows = windows;
+    }
+
+    public Map<String, Integer> getTokenBudgets() {
+        return tokenBudgets;
+    }
+
+    public void setTokenBudgets(Map<String, Integer> tokenBudgets) {
+        this.tokenBudgets = tokenBudgets;
+    }
+}
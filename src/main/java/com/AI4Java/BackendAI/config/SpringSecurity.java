@@ -41,6 +41,7 @@ public class SpringSecurity {
                                 "/api/v1/health/**"
                         ).permitAll()
                         .requestMatchers("/api/v1/admins/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/metrics/**", "/actuator/caches/**").hasRole("ADMIN")
                         .requestMatchers("/api/v1/chat/**").permitAll()
                         .requestMatchers("/api/v1/users/**", "/api/v1/sessions/**", "/api/v1/verify/**").authenticated()
                 .anyRequest().authenticated())
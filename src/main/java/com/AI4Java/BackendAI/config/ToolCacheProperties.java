@@ -0,0 +1,79 @@
+package com.AI4Java.BackendAI.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "tools.cache")
+public class ToolCacheProperties {
+
+    private boolean enabled = true;
+
+    // Memory for cached results of all tools together, weighed by result size
+    private DataSize maxSize = DataSize.ofMegabytes(16);
+
+    // Results longer than this are never cached
+    private int maxResultChars = 64_000;
+
+    // Allowlist: only tools listed here are cached, each for its own TTL, keyed by tool name
+    private Map<String, Duration> ttls = new HashMap<>();
+
+    // Identical concurrent calls of allowlisted tools share one upstream call, even with the cache disabled
+    private boolean singleFlight = true;
+
+    /**
+     * TTL of the tool's results, or {@code null} when the tool is not cached.
+     */
+    public Duration ttlFor(String toolName) {
+        return enabled ? ttls.get(toolName) : null;
+    }
+
+    public boolean singleFlightFor(String toolName) {
+        return singleFlight && ttls.containsKey(toolName);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public int getMaxResultChars() {
+        return maxResultChars;
+    }
+
+    public void setMaxResultChars(int maxResultChars) {
+        this.maxResultChars = maxResultChars;
+    }
+
+    public boolean isSingleFlight() {
+        return singleFlight;
+    }
+
+    public void setSingleFlight(boolean singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    public Map<String, Duration> getTtls() {
+        return ttls;
+    }
+
+    public void setTtls(Map<String, Duration> ttls) {
+        this.ttls = ttls;
+    }
+}
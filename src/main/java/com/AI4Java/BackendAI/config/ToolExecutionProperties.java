@@ -0,0 +1,114 @@
+package com.AI4Java.BackendAI.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "tools.execution")
+public class ToolExecutionProperties {
+
+    // Threads shared by all tool calls, and calls allowed to queue for one before being rejected
+    private int poolSize = 16;
+    private int queueCapacity = 64;
+
+    // One virtual thread per call instead of the pool; pool-size + queue-capacity then caps calls in flight
+    private boolean virtualThreads = false;
+
+    // Time a tool call may run before the model gets a timeout result
+    private Duration defaultTimeout = Duration.ofSeconds(30);
+
+    // Bulkhead: calls of one tool running at once, and how long a call waits for a slot
+    private int defaultMaxConcurrent = 4;
+    private Duration bulkheadWait = Duration.ofSeconds(1);
+
+    // Time all tool calls of one assistant turn may take together when run in parallel
+    private Duration turnDeadline = Duration.ofSeconds(120);
+
+    // Per-tool overrides, keyed by tool name
+    private Map<String, Duration> timeouts = new HashMap<>();
+    private Map<String, Integer> maxConcurrent = new HashMap<>();
+
+    public Duration timeoutFor(String toolName) {
+        return timeouts.getOrDefault(toolName, defaultTimeout);
+    }
+
+    public int maxConcurrentFor(String toolName) {
+        return maxConcurrent.getOrDefault(toolName, defaultMaxConcurrent);
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    public void setDefaultTimeout(Duration defaultTimeout) {
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public int getDefaultMaxConcurrent() {
+        return defaultMaxConcurrent;
+    }
+
+    public void setDefaultMaxConcurrent(int defaultMaxConcurrent) {
+        this.defaultMaxConcurrent = defaultMaxConcurrent;
+    }
+
+    public Duration getBulkheadWait() {
+        return bulkheadWait;
+    }
+
+    public void setBulkheadWait(Duration bulkheadWait) {
+        this.bulkheadWait = bulkheadWait;
+    }
+
+    public Duration getTurnDeadline() {
+        return turnDeadline;
+    }
+
+    public void setTurnDeadline(Duration turnDeadline) {
+        this.turnDeadline = turnDeadline;
+    }
+
+    public Map<String, Duration> getTimeouts() {
+        return timeouts;
+    }
+
+    public void setTimeouts(Map<String, Duration> timeouts) {
+        this.timeouts = timeouts;
+    }
+
+    public Map<String, Integer> getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(Map<String, Integer> maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+}
@@ -0,0 +1,135 @@
+package com.AI4Java.BackendAI.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "tools.http")
+public class ToolHttpProperties {
+
+    // Connections (= requests in flight over HTTP/1.1) per remote host; further requests queue without blocking
+    private int maxConnectionsPerHost = 8;
+
+    // Requests allowed to queue per host for a connection, and how long they may wait
+    private int maxPendingPerHost = 100;
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(30);
+
+    // Pooled connection lifetime
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+
+    private Duration connectTimeout = Duration.ofSeconds(10);
+    private Duration responseTimeout = Duration.ofSeconds(30);
+
+    // Token bucket per host: sustained requests per second and burst size
+    private double defaultRate = 10.0;
+    private int defaultBurst = 10;
+
+    // Per-host rate overrides in requests per second, keyed by host name
+    private Map<String, Double> hostRates = new HashMap<>();
+
+    // Distinct hosts tagged in metrics; the rest are reported as "other"
+    private int maxMetricHosts = 100;
+
+    public double rateFor(String host) {
+        return hostRates.getOrDefault(host, defaultRate);
+    }
+
+    public int burstFor(String host) {
+        Double override = hostRates.get(host);
+        // A slowed-down host gets no burst beyond its own per-second rate
+        return override == null ? defaultBurst : (int) Math.max(1, Math.floor(override));
+    }
+
+    public int getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    public void setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+    }
+
+    public int getMaxPendingPerHost() {
+        return maxPendingPerHost;
+    }
+
+    public void setMaxPendingPerHost(int maxPendingPerHost) {
+        this.maxPendingPerHost = maxPendingPerHost;
+    }
+
+    public Duration getPendingAcquireTimeout() {
+        return pendingAcquireTimeout;
+    }
+
+    public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+        this.pendingAcquireTimeout = pendingAcquireTimeout;
+    }
+
+    public Duration getMaxIdleTime() {
+        return maxIdleTime;
+    }
+
+    public void setMaxIdleTime(Duration maxIdleTime) {
+        this.maxIdleTime = maxIdleTime;
+    }
+
+    public Duration getMaxLifeTime() {
+        return maxLifeTime;
+    }
+
+    public void setMaxLifeTime(Duration maxLifeTime) {
+        this.maxLifeTime = maxLifeTime;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getResponseTimeout() {
+        return responseTimeout;
+    }
+
+    public void setResponseTimeout(Duration responseTimeout) {
+        this.responseTimeout = responseTimeout;
+    }
+
+    public double getDefaultRate() {
+        return defaultRate;
+    }
+
+    public void setDefaultRate(double defaultRate) {
+        this.defaultRate = defaultRate;
+    }
+
+    public int getDefaultBurst() {
+        return defaultBurst;
+    }
+
+    public void setDefaultBurst(int defaultBurst) {
+        this.defaultBurst = defaultBurst;
+    }
+
+    public Map<String, Double> getHostRates() {
+        return hostRates;
+    }
+
+    public void setHostRates(Map<String, Double> hostRates) {
+        this.hostRates = hostRates;
+    }
+
+    public int getMaxMetricHosts() {
+        return maxMetricHosts;
+    }
+
+    public void setMaxMetricHosts(int maxMetricHosts) {
+        this.maxMetricHosts = maxMetricHosts;
+    }
+}
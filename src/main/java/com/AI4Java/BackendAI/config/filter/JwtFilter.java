@@ -1,6 +1,8 @@
 package com.AI4Java.BackendAI.config.filter;
 
+import com.AI4Java.BackendAI.services.TokenVersionService;
 import com.AI4Java.BackendAI.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.SignatureException;
@@ -11,7 +13,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -20,6 +24,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
@@ -32,6 +37,12 @@ public class JwtFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    @Value("${jwt.stateless.enabled:false}")
+    private boolean statelessEnabled;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
@@ -41,13 +52,15 @@ public class JwtFilter extends OncePerRequestFilter {
         log.trace("Processing request to: {}", requestURI);
 
         String username = null;
-        String jwt = null;
+        Claims claims = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+            String jwt = authorizationHeader.substring(7);
             log.trace("JWT found in Authorization header.");
             try {
-                username = jwtUtil.extractUsername(jwt);
+                // Single parse: signature and expiry are verified here
+                claims = jwtUtil.parseAndValidate(jwt);
+                username = claims.getSubject();
                 log.trace("Extracted username '{}' from JWT.", username);
             } catch (ExpiredJwtException e) {
                 log.warn("JWT token is expired: {} for request to {}", e.getMessage(), requestURI);
@@ -66,14 +79,15 @@ public class JwtFilter extends OncePerRequestFilter {
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             log.debug("Security context is null for user '{}'. Attempting to authenticate.", username);
             try {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                UsernamePasswordAuthenticationToken authToken = statelessEnabled
+                        ? authenticateFromClaims(claims)
+                        : authenticateFromUserDetails(claims);
 
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                if (authToken != null) {
                     log.debug("JWT is valid for user '{}'. Setting authentication in security context.", username);
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    request.setAttribute(JwtUtil.CLAIMS_ATTRIBUTE, claims);
                     log.info("Successfully authenticated user '{}' for request to {}.", username, requestURI);
                 } else {
                     log.warn("JWT validation failed for user '{}'.", username);
@@ -84,4 +98,33 @@ public class JwtFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
+
+    private UsernamePasswordAuthenticationToken authenticateFromUserDetails(Claims claims) {
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.getSubject());
+        if (!jwtUtil.validateClaims(claims, userDetails)) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
+    // Stateless mode: authorities come from the signed roles claim, revocation from the cached token version
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(Claims claims) {
+        Object version = claims.get(JwtUtil.VERSION_CLAIM);
+        Object roles = claims.get(JwtUtil.ROLES_CLAIM);
+        if (!(version instanceof Number tokenVersion) || !(roles instanceof List<?> roleList)) {
+            // Token issued before the claims existed
+            return authenticateFromUserDetails(claims);
+        }
+
+        String username = claims.getSubject();
+        if (!tokenVersionService.isCurrent(username, tokenVersion.longValue())) {
+            log.warn("JWT for user '{}' carries a revoked token version.", username);
+            return null;
+        }
+
+        List<SimpleGrantedAuthority> authorities = roleList.stream()
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+        return new UsernamePasswordAuthenticationToken(username, null, authorities);
+    }
 }
@@ -0,0 +1,44 @@
+package com.AI4Java.BackendAI.dto.message;
+
+import java.util.List;
+
+public class MessagePageDto {
+
+    private List<MessageResponseDto> messages;
+    // Pass as "before" to fetch the next (older) page; null when there is none
+    private Long nextCursor;
+    private boolean hasMore;
+
+    public MessagePageDto() {}
+
+    public MessagePageDto(List<MessageResponseDto> messages, Long nextCursor, boolean hasMore) {
+        this.messages = messages;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and setters
+    public List<MessageResponseDto> getMessages() {
+        return messages;
+    }
+
+    public void setMessages(List<MessageResponseDto> messages) {
+        this.messages = messages;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
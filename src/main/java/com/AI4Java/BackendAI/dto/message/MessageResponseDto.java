@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 
 public class MessageResponseDto {
 
+    private long seq;
     private String role;
     private String content;
     private LocalDateTime timestamp;
@@ -16,7 +17,22 @@ public class MessageResponseDto {
         this.timestamp = timestamp;
     }
 
+    public MessageResponseDto(long seq, String role, String content, LocalDateTime timestamp) {
+        this.seq = seq;
+        this.role = role;
+        this.content = content;
+        this.timestamp = timestamp;
+    }
+
     // Getters and setters
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
     public String getRole() {
         return role;
     }
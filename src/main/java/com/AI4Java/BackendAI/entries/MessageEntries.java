@@ -1,9 +1,24 @@
 package com.AI4Java.BackendAI.entries;
 
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
 import java.time.LocalDateTime;
 
+@Document(collection = "messages")
+@CompoundIndex(name = "session_seq_idx", def = "{'sessionId': 1, 'seq': 1}", unique = true)
 public class MessageEntries {
 
+    @Id
+    private ObjectId id;
+
+    private ObjectId sessionId;
+
+    // Per-session, monotonically increasing position of the message
+    private long seq;
+
     private String role;
 
     private String content;
@@ -19,6 +34,38 @@ public class MessageEntries {
         this.timestamp = timestamp;
     }
 
+    public MessageEntries(ObjectId sessionId, long seq, String role, String content, LocalDateTime timestamp) {
+        this.sessionId = sessionId;
+        this.seq = seq;
+        this.role = role;
+        this.content = content;
+        this.timestamp = timestamp;
+    }
+
+    public ObjectId getId() {
+        return id;
+    }
+
+    public void setId(ObjectId id) {
+        this.id = id;
+    }
+
+    public ObjectId getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(ObjectId sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
     public String getRole() {
         return role;
     }
@@ -43,4 +90,3 @@ public class MessageEntries {
         this.timestamp = timestamp;
     }
 }
-
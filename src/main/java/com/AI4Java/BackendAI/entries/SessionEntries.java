@@ -2,13 +2,13 @@ package com.AI4Java.BackendAI.entries;
 
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 @Document(collection = "sessionsEntries")
+@CompoundIndex(name = "owner_id_idx", def = "{'owner': 1, '_id': 1}")
 public class SessionEntries {
 
     @Id
@@ -20,7 +20,13 @@ public class SessionEntries {
 
     private LocalDateTime dateTime;
 
-    List<MessageEntries> messages = new ArrayList<>();
+    // Username of the owning user; covered by owner_id_idx
+    private String owner;
+
+    // Last allocated message seq; messages themselves live in the "messages" collection
+    private long messageSeq;
+
+    private long messageCount;
 
     public SessionEntries() {
     }
@@ -56,9 +62,29 @@ public class SessionEntries {
         this.model = model;
     }
 
-    public List<MessageEntries> getMessages() { return messages; }
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public long getMessageSeq() {
+        return messageSeq;
+    }
+
+    public void setMessageSeq(long messageSeq) {
+        this.messageSeq = messageSeq;
+    }
 
-    public void setMessages(List<MessageEntries> messages) { this.messages = messages; }
+    public long getMessageCount() {
+        return messageCount;
+    }
+
+    public void setMessageCount(long messageCount) {
+        this.messageCount = messageCount;
+    }
 
     public LocalDateTime getDateTime() {
         return dateTime;
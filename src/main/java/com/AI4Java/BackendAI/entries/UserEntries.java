@@ -4,11 +4,9 @@ package com.AI4Java.BackendAI.entries;
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 
 @Document(collection = "userEntries")
@@ -25,9 +23,6 @@ public class UserEntries {
     @Indexed(unique = true)
     private String gmail;
 
-    @DBRef
-    private List<SessionEntries> sessionEntries = new ArrayList<>();
-
     private List<String> roles;
 
     private boolean isVerified = false;
@@ -36,15 +31,17 @@ public class UserEntries {
 
     private LocalDateTime verificationCodeExpires;
 
+    // Bumped on role/password/account changes; tokens carrying an older "ver" claim are rejected
+    private long tokenVersion;
+
     public UserEntries() {
     }
 
-    public UserEntries(ObjectId userId, String userName, String password, String gmail, List<SessionEntries> sessionEntries, List<String> roles, boolean isVerify, String verificationCode, LocalDateTime verificationCodeExpires) {
+    public UserEntries(ObjectId userId, String userName, String password, String gmail, List<String> roles, boolean isVerify, String verificationCode, LocalDateTime verificationCodeExpires) {
         this.userId = userId;
         this.userName = userName;
         this.password = password;
         this.gmail = gmail;
-        this.sessionEntries=sessionEntries;
         this.roles=roles;
         this.isVerified =isVerify;
         this.verificationCode = verificationCode;
@@ -83,13 +80,6 @@ public class UserEntries {
         this.gmail = gmail;
     }
 
-    public List<SessionEntries> getSessionEntries() {
-        return sessionEntries;
-    }
-
-    public void setSessionEntries(List<SessionEntries> sessionEntries) {
-        this.sessionEntries = sessionEntries;
-    }
 
     public List<String> getRoles() {
         return roles;
@@ -122,4 +112,12 @@ public class UserEntries {
     public void setVerificationCodeExpires(LocalDateTime verificationCodeExpires) {
         this.verificationCodeExpires = verificationCodeExpires;
     }
+
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(long tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
 }
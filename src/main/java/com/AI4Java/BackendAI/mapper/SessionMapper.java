@@ -1,5 +1,6 @@
 package com.AI4Java.BackendAI.mapper;
 
+import com.AI4Java.BackendAI.dto.message.MessagePageDto;
 import com.AI4Java.BackendAI.dto.message.MessageResponseDto;
 import com.AI4Java.BackendAI.dto.session.SessionCreateDto;
 import com.AI4Java.BackendAI.dto.session.SessionResponseDto;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,13 +22,12 @@ public class SessionMapper {
         session.setNameSession(dto.getNameSession());
         session.setModel(dto.getModel());
         session.setDateTime(LocalDateTime.now());
-        session.setMessages(new ArrayList<>());
         return session;
     }
 
-    public SessionResponseDto toResponseDto(SessionEntries entity) {
-        List<MessageResponseDto> messageDtos = entity.getMessages() != null ?
-            entity.getMessages().stream()
+    public SessionResponseDto toResponseDto(SessionEntries entity, List<MessageEntries> messages) {
+        List<MessageResponseDto> messageDtos = messages != null ?
+            messages.stream()
                 .map(this::messageToDto)
                 .collect(Collectors.toList()) :
             new ArrayList<>();
@@ -37,7 +38,7 @@ public class SessionMapper {
             entity.getModel(),
             entity.getDateTime(),
             messageDtos,
-            messageDtos.size()
+            (int) entity.getMessageCount()
         );
     }
 
@@ -48,12 +49,26 @@ public class SessionMapper {
             entity.getModel(),
             entity.getDateTime(),
             null, // Don't include messages for list views
-            entity.getMessages() != null ? entity.getMessages().size() : 0
+            (int) entity.getMessageCount()
         );
     }
 
+    // newestFirst holds up to limit + 1 entries; the extra one only signals that an older page exists
+    public MessagePageDto toMessagePageDto(List<MessageEntries> newestFirst, int limit) {
+        boolean hasMore = newestFirst.size() > limit;
+        List<MessageEntries> page = new ArrayList<>(newestFirst.subList(0, Math.min(limit, newestFirst.size())));
+        Collections.reverse(page);
+
+        List<MessageResponseDto> messageDtos = page.stream()
+            .map(this::messageToDto)
+            .collect(Collectors.toList());
+        Long nextCursor = hasMore && !page.isEmpty() ? page.get(0).getSeq() : null;
+        return new MessagePageDto(messageDtos, nextCursor, hasMore);
+    }
+
     private MessageResponseDto messageToDto(MessageEntries message) {
         return new MessageResponseDto(
+            message.getSeq(),
             message.getRole(),
             message.getContent(),
             message.getTimestamp()
@@ -15,18 +15,17 @@ public class UserMapper {
         user.setUserName(dto.getUserName());
         user.setPassword(dto.getPassword()); // Will be encoded in service layer
         user.setGmail(dto.getGmail());
-        user.setSessionEntries(new ArrayList<>());
         user.setRoles(new ArrayList<>());
         return user;
     }
 
-    public UserResponseDto toResponseDto(UserEntries entity) {
+    public UserResponseDto toResponseDto(UserEntries entity, long sessionCount) {
         return new UserResponseDto(
             entity.getUserId() != null ? entity.getUserId().toString() : null,
             entity.getUserName(),
             entity.getGmail(),
             entity.getRoles(),
-            entity.getSessionEntries() != null ? entity.getSessionEntries().size() : 0,
+            (int) sessionCount,
             entity.isVerified()
         );
     }
@@ -0,0 +1,84 @@
+package com.AI4Java.BackendAI.migration;
+
+import com.AI4Java.BackendAI.entries.MessageEntries;
+import com.AI4Java.BackendAI.entries.SessionEntries;
+import com.AI4Java.BackendAI.repository.MessageRepo;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * One-shot migration of messages embedded in "sessionsEntries" into the "messages" collection.
+ * Idempotent: only sessions that still carry a "messages" array are touched, and a session is
+ * only unset after its messages have been written. Runs once all singletons exist but before
+ * the web server starts, so no chat can reserve a seq on a session that is still unmigrated.
+ */
+@Component
+public class MessageCollectionMigration implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageCollectionMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final MessageRepo messageRepo;
+
+    public MessageCollectionMigration(MongoTemplate mongoTemplate, MessageRepo messageRepo) {
+        this.mongoTemplate = mongoTemplate;
+        this.messageRepo = messageRepo;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String collection = mongoTemplate.getCollectionName(SessionEntries.class);
+        Query query = new Query(Criteria.where("messages").exists(true));
+
+        int migratedSessions = 0;
+        long migratedMessages = 0;
+        try (Stream<Document> sessions = mongoTemplate.stream(query, Document.class, collection)) {
+            for (Document session : (Iterable<Document>) sessions::iterator) {
+                migratedMessages += migrateSession(session, collection);
+                migratedSessions++;
+            }
+        }
+
+        if (migratedSessions > 0) {
+            log.info("Migrated {} messages from {} sessions into the messages collection", migratedMessages, migratedSessions);
+        }
+    }
+
+    private long migrateSession(Document session, String collection) {
+        ObjectId sessionId = session.getObjectId("_id");
+        List<Document> embedded = session.getList("messages", Document.class, new ArrayList<>());
+
+        List<MessageEntries> entries = new ArrayList<>(embedded.size());
+        long seq = 0;
+        for (Document doc : embedded) {
+            MessageEntries entry = mongoTemplate.getConverter().read(MessageEntries.class, doc);
+            entry.setId(null);
+            entry.setSessionId(sessionId);
+            entry.setSeq(++seq);
+            entries.add(entry);
+        }
+
+        // Clear any partial result of an interrupted earlier run before inserting
+        messageRepo.deleteBySessionIdAndSeqLessThanEqual(sessionId, seq);
+        if (!entries.isEmpty()) {
+            messageRepo.insert(entries);
+        }
+
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(sessionId)),
+                new Update().unset("messages").set("messageSeq", seq).set("messageCount", seq),
+                collection);
+        return seq;
+    }
+}
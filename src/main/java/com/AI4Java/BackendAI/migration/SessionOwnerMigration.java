@@ -0,0 +1,72 @@
+package com.AI4Java.BackendAI.migration;
+
+import com.AI4Java.BackendAI.entries.SessionEntries;
+import com.AI4Java.BackendAI.entries.UserEntries;
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * One-shot migration from the {@code @DBRef} session list on "userEntries" to an owner field
+ * on each session. Idempotent: only users that still carry "sessionEntries" are touched.
+ * Runs before the web server starts, so no request sees a legacy session without its owner.
+ */
+@Component
+public class SessionOwnerMigration implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionOwnerMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public SessionOwnerMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String userCollection = mongoTemplate.getCollectionName(UserEntries.class);
+        Query query = new Query(Criteria.where("sessionEntries").exists(true));
+        query.fields().include("userName", "sessionEntries");
+
+        int migratedUsers = 0;
+        try (Stream<Document> users = mongoTemplate.stream(query, Document.class, userCollection)) {
+            for (Document user : (Iterable<Document>) users::iterator) {
+                migrateUser(user, userCollection);
+                migratedUsers++;
+            }
+        }
+
+        if (migratedUsers > 0) {
+            log.info("Migrated session ownership for {} users", migratedUsers);
+        }
+    }
+
+    private void migrateUser(Document user, String userCollection) {
+        List<Object> sessionIds = new ArrayList<>();
+        for (Object ref : user.getList("sessionEntries", Object.class, new ArrayList<>())) {
+            if (ref instanceof DBRef dbRef) {
+                sessionIds.add(dbRef.getId());
+            } else if (ref instanceof Document doc && doc.containsKey("$id")) {
+                sessionIds.add(doc.get("$id"));
+            }
+        }
+
+        if (!sessionIds.isEmpty()) {
+            mongoTemplate.updateMulti(new Query(Criteria.where("_id").in(sessionIds)),
+                    new Update().set("owner", user.getString("userName")), SessionEntries.class);
+        }
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(user.get("_id"))),
+                new Update().unset("sessionEntries"), userCollection);
+    }
+}
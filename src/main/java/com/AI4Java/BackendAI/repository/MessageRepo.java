@@ -0,0 +1,19 @@
+package com.AI4Java.BackendAI.repository;
+
+import com.AI4Java.BackendAI.entries.MessageEntries;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface MessageRepo extends MongoRepository<MessageEntries, ObjectId> {
+
+    List<MessageEntries> findBySessionIdOrderBySeqDesc(ObjectId sessionId, Pageable pageable);
+
+    List<MessageEntries> findBySessionIdAndSeqLessThanOrderBySeqDesc(ObjectId sessionId, long seq, Pageable pageable);
+
+    long deleteBySessionIdAndSeqLessThanEqual(ObjectId sessionId, long seq);
+
+    long deleteBySessionId(ObjectId sessionId);
+}
@@ -4,5 +4,15 @@ import com.AI4Java.BackendAI.entries.SessionEntries;
 import org.bson.types.ObjectId;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.List;
+
 public interface SessionRepo extends MongoRepository<SessionEntries, ObjectId> {
+
+    List<SessionEntries> findByOwner(String owner);
+
+    long countByOwner(String owner);
+
+    boolean existsBySessionIdAndOwner(ObjectId sessionId, String owner);
+
+    long deleteBySessionIdAndOwner(ObjectId sessionId, String owner);
 }
@@ -0,0 +1,51 @@
+package com.AI4Java.BackendAI.services;
+
+import com.AI4Java.BackendAI.exceptions.SessionException;
+import com.AI4Java.BackendAI.repository.SessionRepo;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shared session ownership check. The happy path is a single exists query on the
+ * (owner, _id) index; telling "not found" from "not yours" costs a second lookup only on failure.
+ */
+@Component
+public class SessionAccessGuard {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionAccessGuard.class);
+
+    private final SessionRepo sessionRepo;
+
+    public SessionAccessGuard(SessionRepo sessionRepo) {
+        this.sessionRepo = sessionRepo;
+    }
+
+    public ObjectId parseId(String sessionId) {
+        try {
+            return new ObjectId(sessionId);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid session id: {}", sessionId);
+            throw new SessionException.SessionNotFoundException(sessionId);
+        }
+    }
+
+    public ObjectId requireOwner(String sessionId, String username) {
+        ObjectId objectId = parseId(sessionId);
+        requireOwner(objectId, username);
+        return objectId;
+    }
+
+    public void requireOwner(ObjectId sessionId, String username) {
+        if (sessionRepo.existsBySessionIdAndOwner(sessionId, username)) {
+            return;
+        }
+        if (!sessionRepo.existsById(sessionId)) {
+            log.error("Session not found with id: {}", sessionId);
+            throw new SessionException.SessionNotFoundException(sessionId.toHexString());
+        }
+        log.error("User: {} does not have access to session: {}", username, sessionId);
+        throw new SessionException.SessionAccessDeniedException(sessionId.toHexString());
+    }
+}
@@ -1,17 +1,25 @@
 package com.AI4Java.BackendAI.services;
 
+import com.AI4Java.BackendAI.entries.MessageEntries;
 import com.AI4Java.BackendAI.entries.SessionEntries;
-import com.AI4Java.BackendAI.entries.UserEntries;
+import com.AI4Java.BackendAI.repository.MessageRepo;
 import com.AI4Java.BackendAI.repository.SessionRepo;
 import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,16 +32,17 @@ public class SessionServices {
     private SessionRepo sessionRepo;
 
     @Autowired
-    private UserServices userServices;
+    private MessageRepo messageRepo;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
 
     @Transactional
     public void saveEntry(SessionEntries entry, String username) {
         log.info("Saving session for user: {}", username);
-        UserEntries user = userServices.findByUserName(username);
+        entry.setOwner(username);
         entry.setDateTime(LocalDateTime.now());
-        SessionEntries savedSession = sessionRepo.save(entry);
-        user.getSessionEntries().add(savedSession);
-        userServices.saveUser(user);
+        sessionRepo.save(entry);
         log.info("Session saved successfully for user: {}", username);
     }
 
@@ -42,25 +51,63 @@ public class SessionServices {
         return sessionRepo.findAll();
     }
 
+    public List<SessionEntries> getByOwner(String username) {
+        log.info("Retrieving sessions for user: {}", username);
+        return sessionRepo.findByOwner(username);
+    }
+
+    public long countByOwner(String username) {
+        return sessionRepo.countByOwner(username);
+    }
+
     @Transactional
     public boolean deleteById(ObjectId id, String username) {
         log.info("Deleting session with id: {} for user: {}", id, username);
-        boolean removed = false;
-        UserEntries user = userServices.findByUserName(username);
-        removed = user.getSessionEntries().removeIf(x -> x.getSessionId().equals(id));
+        boolean removed = sessionRepo.deleteBySessionIdAndOwner(id, username) > 0;
         if (removed) {
-            userServices.saveUser(user);
-            sessionRepo.deleteById(id);
+            messageRepo.deleteBySessionId(id);
             log.info("Session deleted successfully with id: {}", id);
         }
         return removed;
     }
 
+    /**
+     * Deletes every session of the user together with their messages, so nothing is left for
+     * a later account that reuses the username.
+     */
+    @Transactional
+    public void deleteByOwner(String username) {
+        List<ObjectId> sessionIds = sessionRepo.findByOwner(username).stream()
+                .map(SessionEntries::getSessionId)
+                .toList();
+        if (sessionIds.isEmpty()) return;
+        mongoTemplate.remove(new Query(Criteria.where("sessionId").in(sessionIds)), MessageEntries.class);
+        mongoTemplate.remove(new Query(Criteria.where("owner").is(username)), SessionEntries.class);
+        log.info("Deleted {} sessions of user: {}", sessionIds.size(), username);
+    }
+
     public Optional<SessionEntries> getById(ObjectId id) {
         log.info("Retrieving session by id: {}", id);
         return sessionRepo.findById(id);
     }
 
+    public List<MessageEntries> getRecentMessages(ObjectId sessionId, int limit) {
+        log.info("Retrieving last {} messages for session: {}", limit, sessionId);
+        List<MessageEntries> messages = new ArrayList<>(
+                messageRepo.findBySessionIdOrderBySeqDesc(sessionId, PageRequest.of(0, limit)));
+        Collections.reverse(messages);
+        return messages;
+    }
+
+    // Keyset page over the (sessionId, seq) index, newest first; before == null starts from the latest message
+    public List<MessageEntries> getMessagesBefore(ObjectId sessionId, Long before, int limit) {
+        log.info("Retrieving {} messages before seq {} for session: {}", limit, before, sessionId);
+        PageRequest page = PageRequest.of(0, limit);
+        return before == null
+                ? messageRepo.findBySessionIdOrderBySeqDesc(sessionId, page)
+                : messageRepo.findBySessionIdAndSeqLessThanOrderBySeqDesc(sessionId, before, page);
+    }
+
     @Transactional
     public void simpleSave(SessionEntries sessionEntries) {
         log.info("Saving session");
@@ -77,10 +124,12 @@ public class SessionServices {
     @Transactional
     public void updateSession(SessionEntries entry, String username) {
         log.info("Updating session for user: {}", username);
-        UserEntries user = userServices.findByUserName(username);
         entry.setDateTime(LocalDateTime.now());
-        //SessionEntries savedSession = sessionRepo.save(entry);
-        userServices.saveUser(user);
+        // Targeted $set so the message counters on the session are never overwritten
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(entry.getSessionId()).and("owner").is(username)),
+                new Update().set("nameSession", entry.getNameSession()).set("dateTime", entry.getDateTime()),
+                SessionEntries.class);
         log.info("Session updated successfully for user: {}", username);
     }
 
@@ -0,0 +1,59 @@
+package com.AI4Java.BackendAI.services;
+
+import com.AI4Java.BackendAI.config.CacheConfig;
+import com.AI4Java.BackendAI.entries.UserEntries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+/**
+ * Revocation check for stateless JWTs. The current token version per user is cached briefly,
+ * so the hot path is a cache hit; a miss is a single projected read of one field.
+ */
+@Service
+public class TokenVersionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenVersionService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final CacheManager cacheManager;
+
+    public TokenVersionService(MongoTemplate mongoTemplate, CacheManager cacheManager) {
+        this.mongoTemplate = mongoTemplate;
+        this.cacheManager = cacheManager;
+    }
+
+    public boolean isCurrent(String username, long tokenVersion) {
+        Long current = currentVersion(username);
+        return current != null && current == tokenVersion;
+    }
+
+    public void evict(String username) {
+        Cache cache = cacheManager.getCache(CacheConfig.TOKEN_VERSION_CACHE);
+        if (cache != null && username != null) {
+            cache.evict(username);
+        }
+    }
+
+    private Long currentVersion(String username) {
+        Cache cache = cacheManager.getCache(CacheConfig.TOKEN_VERSION_CACHE);
+        if (cache == null) {
+            return loadVersion(username);
+        }
+        return cache.get(username, () -> loadVersion(username));
+    }
+
+    // null when the user no longer exists
+    private Long loadVersion(String username) {
+        log.debug("Loading token version for user: {}", username);
+        Query query = new Query(Criteria.where("userName").is(username));
+        query.fields().include("tokenVersion");
+        UserEntries user = mongoTemplate.findOne(query, UserEntries.class);
+        return user != null ? user.getTokenVersion() : null;
+    }
+}
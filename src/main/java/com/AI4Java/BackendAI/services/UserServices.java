@@ -1,11 +1,16 @@
 package com.AI4Java.BackendAI.services;
 
+import com.AI4Java.BackendAI.entries.SessionEntries;
 import com.AI4Java.BackendAI.entries.UserEntries;
 import com.AI4Java.BackendAI.repository.UserRepo;
 import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
@@ -26,6 +31,18 @@ public class UserServices {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private userDetailsServices userDetailsServices;
+
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    @Autowired
+    private SessionServices sessionServices;
+
     @Transactional
     public UserEntries saveNewEntry(UserEntries entry) {
         log.info("Creating new user: {}", entry.getUserName());
@@ -47,7 +64,11 @@ public class UserServices {
 
         log.info("Granting ADMIN role to user: {}", user.getUserName());
         user.setRoles(List.of("USER", "ADMIN"));
+        // Outstanding tokens still carry the old roles claim
+        user.setTokenVersion(user.getTokenVersion() + 1);
         UserEntries savedUser = userRepo.save(user);
+        userDetailsServices.evict(username);
+        tokenVersionService.evict(username);
         log.info("Admin role granted successfully to user: {}", savedUser.getUserName());
 
         return savedUser;
@@ -56,6 +77,7 @@ public class UserServices {
     @Transactional
     public void updateUser(UserEntries existingUser, UserEntries updatedData) {
         log.info("Updating user: {}", existingUser.getUserName());
+        String previousUserName = existingUser.getUserName();
         if (updatedData.getUserName() != null && !updatedData.getUserName().isEmpty()) {
             existingUser.setUserName(updatedData.getUserName());
         }
@@ -63,7 +85,15 @@ public class UserServices {
             existingUser.setPassword(passwordEncoder.encode(updatedData.getPassword()));
         }
         // Roles should be managed separately and not in a general update method.
+        existingUser.setTokenVersion(existingUser.getTokenVersion() + 1);
         userRepo.save(existingUser);
+        userDetailsServices.evict(previousUserName);
+        tokenVersionService.evict(previousUserName);
+        if (!existingUser.getUserName().equals(previousUserName)) {
+            // Sessions reference their owner by username
+            mongoTemplate.updateMulti(new Query(Criteria.where("owner").is(previousUserName)),
+                    new Update().set("owner", existingUser.getUserName()), SessionEntries.class);
+        }
         log.info("User updated successfully: {}", existingUser.getUserName());
     }
 
@@ -94,8 +124,15 @@ public class UserServices {
         return userRepo.findById(id);
     }
 
+    @Transactional
     public void deleteById(ObjectId id) {
         log.info("Deleting user by id: {}", id);
+        userRepo.findById(id).ifPresent(user -> {
+            // Sessions are owned by username, which a new account could take over
+            sessionServices.deleteByOwner(user.getUserName());
+            userDetailsServices.evict(user.getUserName());
+            tokenVersionService.evict(user.getUserName());
+        });
         userRepo.deleteById(id);
         log.info("User deleted successfully with id: {}", id);
     }
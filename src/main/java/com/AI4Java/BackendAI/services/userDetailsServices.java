@@ -1,11 +1,14 @@
 package com.AI4Java.BackendAI.services;
 
 import com.AI4Java.BackendAI.MyController.AdminController;
+import com.AI4Java.BackendAI.config.CacheConfig;
 import com.AI4Java.BackendAI.entries.UserEntries;
 import com.AI4Java.BackendAI.repository.UserRepo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -21,8 +24,32 @@ public class userDetailsServices implements UserDetailsService {
     @Autowired
     private UserRepo userRepo;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_DETAILS_CACHE);
+        UserDetails cached = cache != null ? cache.get(username, UserDetails.class) : null;
+        if (cached == null) {
+            cached = loadFromRepo(username);
+            if (cache != null) {
+                cache.put(username, cached);
+            }
+        }
+        // Hand out a copy: ProviderManager erases credentials on the returned instance after login
+        return User.withUserDetails(cached).build();
+    }
+
+    public void evict(String username) {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_DETAILS_CACHE);
+        if (cache != null && username != null) {
+            logger.debug("Evicting cached user details for: {}", username);
+            cache.evict(username);
+        }
+    }
+
+    private UserDetails loadFromRepo(String username) {
         logger.debug("Looking for user with username: {}", username);
 
         UserEntries user;
@@ -37,8 +64,6 @@ public class userDetailsServices implements UserDetailsService {
         if (user != null) {
             logger.debug("User found: {}", user.getUserName());
             logger.debug("User roles: {}", user.getRoles());
-            logger.debug("Session entries count: {}",
-                    (user.getSessionEntries() != null ? user.getSessionEntries().size() : 0));
 
             return User.builder()
                     .username(user.getUserName())
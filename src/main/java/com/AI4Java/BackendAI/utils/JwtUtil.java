@@ -1,6 +1,7 @@
 package com.AI4Java.BackendAI.utils;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -15,6 +16,7 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Component
@@ -24,9 +26,19 @@ public class JwtUtil {
     private static final int MIN_SECRET_LENGTH = 32; // Minimum 256 bits
     private static final long TOKEN_VALIDITY = 10 * 60 * 60 * 1000L; // 10 hours in milliseconds
 
+    // Request attribute holding the verified Claims, set by JwtFilter
+    public static final String CLAIMS_ATTRIBUTE = JwtUtil.class.getName() + ".CLAIMS";
+
+    // Signed claims used by the stateless mode
+    public static final String ROLES_CLAIM = "roles";
+    public static final String VERSION_CLAIM = "ver";
+
     @Value("${JWT_SECRET}")
     private String KEY;
-    
+
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
     @PostConstruct
     public void validateSecretKey() {
         if (KEY == null || KEY.trim().isEmpty()) {
@@ -35,36 +47,41 @@ public class JwtUtil {
         if (KEY.length() < MIN_SECRET_LENGTH) {
             logger.warn("JWT secret key is shorter than recommended {} characters", MIN_SECRET_LENGTH);
         }
+        // Build the HMAC key and parser once instead of on every call
+        signingKey = Keys.hmacShaKeyFor(KEY.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
         logger.info("JWT utility initialized successfully");
     }
 
-    private SecretKey getSigningKey(){
-        return Keys.hmacShaKeyFor(KEY.getBytes(StandardCharsets.UTF_8));
+    /**
+     * Verifies the signature and expiry in a single parse and returns the claims.
+     * Throws {@link io.jsonwebtoken.JwtException} subtypes when the token is invalid or expired.
+     */
+    public Claims parseAndValidate(String token) {
+        return jwtParser
+                .parseSignedClaims(token)
+                .getPayload();
     }
 
     public String extractUsername(String token) {
-        Claims claims = extractAllClaims(token);
-        return claims.getSubject();
+        return parseAndValidate(token).getSubject();
     }
 
     public Date extractExpiration(String token) {
-        return extractAllClaims(token).getExpiration();
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parseAndValidate(token).getExpiration();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public String generateToken(String username) {
+        Map<String, Object> claims = new HashMap<>();
+        return createToken(claims, username);
     }
 
-    public String generateToken(String username) {
+    public String generateToken(String username, List<String> roles, long tokenVersion) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(ROLES_CLAIM, roles);
+        claims.put(VERSION_CLAIM, tokenVersion);
         return createToken(claims, username);
     }
 
@@ -78,13 +95,17 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        Claims claims = parseAndValidate(token);
+        return validateClaims(claims, userDetails);
+    }
+
+    public boolean validateClaims(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date());
     }
 
 }
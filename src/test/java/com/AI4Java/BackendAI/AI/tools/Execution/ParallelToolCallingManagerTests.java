@@ -0,0 +1,148 @@
+package com.AI4Java.BackendAI.AI.tools.Execution;
+
+import com.AI4Java.BackendAI.config.ToolExecutionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.function.FunctionToolCallback;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelToolCallingManagerTests {
+
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    private ParallelToolCallingManager manager;
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        if (manager != null) manager.shutdown();
+    }
+
+    private ParallelToolCallingManager manager(Duration turnDeadline) {
+        ToolExecutionProperties properties = new ToolExecutionProperties();
+        properties.setTurnDeadline(turnDeadline);
+        manager = new ParallelToolCallingManager(ToolCallingManager.builder().build(), properties,
+                new SimpleMeterRegistry());
+        return manager;
+    }
+
+    @Test
+    void runs_calls_at_once_and_keeps_the_model_order() {
+        // Each tool waits for the other, so this only finishes if both run at the same time
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        Supplier<String> waitForOther = () -> {
+            bothRunning.countDown();
+            await(bothRunning);
+            return "done";
+        };
+        ToolCallback first = tool("first", () -> {
+            waitForOther.get();
+            sleep(100);
+            return "first result";
+        });
+        ToolCallback second = tool("second", () -> {
+            waitForOther.get();
+            return "second result";
+        });
+
+        List<ToolResponseMessage.ToolResponse> responses =
+                responses(execute(manager(Duration.ofSeconds(10)), first, second));
+
+        assertEquals(List.of("1", "2"), responses.stream().map(ToolResponseMessage.ToolResponse::id).toList());
+        assertTrue(responses.get(0).responseData().contains("first result"));
+        assertTrue(responses.get(1).responseData().contains("second result"));
+    }
+
+    @Test
+    void failing_call_gets_an_error_result_and_the_rest_are_kept() {
+        ToolCallback boom = tool("boom", () -> {
+            throw new IllegalStateException("kaboom");
+        });
+        ToolCallback ok = tool("ok", () -> "fine");
+
+        ToolExecutionResult result = execute(manager(Duration.ofSeconds(10)), boom, ok);
+        List<ToolResponseMessage.ToolResponse> responses = responses(result);
+
+        assertTrue(responses.get(0).responseData().startsWith("❌"));
+        assertTrue(responses.get(0).responseData().contains("kaboom"));
+        assertTrue(responses.get(1).responseData().contains("fine"));
+        assertFalse(result.returnDirect());
+    }
+
+    @Test
+    void call_running_past_the_turn_deadline_gets_an_error_result() {
+        ToolCallback hang = tool("hang", () -> {
+            await(unblock);
+            return "late";
+        });
+        ToolCallback ok = tool("ok", () -> "fine");
+
+        List<ToolResponseMessage.ToolResponse> responses =
+                responses(execute(manager(Duration.ofMillis(200)), hang, ok));
+
+        assertEquals("hang", responses.get(0).name());
+        assertTrue(responses.get(0).responseData().startsWith("❌"));
+        assertTrue(responses.get(1).responseData().contains("fine"));
+    }
+
+    private static ToolExecutionResult execute(ParallelToolCallingManager manager, ToolCallback... tools) {
+        List<AssistantMessage.ToolCall> calls = new ArrayList<>();
+        for (int i = 0; i < tools.length; i++) {
+            calls.add(new AssistantMessage.ToolCall(String.valueOf(i + 1), "function",
+                    tools[i].getToolDefinition().name(), "{}"));
+        }
+        ChatResponse chatResponse = new ChatResponse(List.of(new Generation(new AssistantMessage("", Map.of(), calls))));
+        Prompt prompt = new Prompt(List.of(new UserMessage("hi")),
+                ToolCallingChatOptions.builder().toolCallbacks(tools).build());
+        return manager.executeToolCalls(prompt, chatResponse);
+    }
+
+    private static List<ToolResponseMessage.ToolResponse> responses(ToolExecutionResult result) {
+        List<Message> history = result.conversationHistory();
+        return ((ToolResponseMessage) history.get(history.size() - 1)).getResponses();
+    }
+
+    private static ToolCallback tool(String name, Supplier<String> body) {
+        return FunctionToolCallback.builder(name, (Map<String, Object> input) -> body.get())
+                .inputType(Map.class)
+                .description(name)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) throw new IllegalStateException("latch not released");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted", e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.AI4Java.BackendAI.AI.tools.Execution;
+
+import com.AI4Java.BackendAI.config.ToolCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ToolCallCoalescerTests {
+
+    private static final String TOOL = "search";
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private ToolCallCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        ToolCacheProperties properties = new ToolCacheProperties();
+        properties.setTtls(Map.of(TOOL, Duration.ofMinutes(5)));
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new ToolCallCoalescer(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void follower_shares_the_leader_result() throws Exception {
+        Future<String> leader = callers.submit(() -> coalescer.execute(TOOL, "{\"q\":\"java\"}", () -> {
+            upstreamCalls.incrementAndGet();
+            awaitUnblock();
+            return "result";
+        }));
+        awaitInFlight();
+
+        // The same arguments formatted differently are the same call
+        Future<String> follower = callers.submit(() -> coalescer.execute(TOOL, "{ \"q\" : \"java\" }", () -> {
+            upstreamCalls.incrementAndGet();
+            return "own result";
+        }));
+        awaitFollower();
+        unblock.countDown();
+
+        assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void follower_gets_the_leader_exception() throws Exception {
+        Future<String> leader = callers.submit(() -> coalescer.execute(TOOL, "{\"q\":\"java\"}", () -> {
+            awaitUnblock();
+            throw new IllegalStateException("upstream down");
+        }));
+        awaitInFlight();
+
+        Future<String> follower = callers.submit(() -> coalescer.execute(TOOL, "{\"q\":\"java\"}", () -> "own result"));
+        awaitFollower();
+        unblock.countDown();
+
+        ExecutionException leaderError = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException followerError = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertEquals("upstream down", leaderError.getCause().getMessage());
+        assertEquals("upstream down", followerError.getCause().getMessage());
+    }
+
+    @Test
+    void follower_retries_when_the_leader_is_interrupted() throws Exception {
+        Future<String> leader = callers.submit(() -> coalescer.execute(TOOL, "{\"q\":\"java\"}", () -> {
+            try {
+                unblock.await();
+                return "result";
+            } catch (InterruptedException e) {
+                // Like ToolExecutor when the caller's turn is cancelled
+                Thread.currentThread().interrupt();
+                return "❌ Tool " + TOOL + " was interrupted.";
+            }
+        }));
+        awaitInFlight();
+
+        Future<String> follower = callers.submit(() -> coalescer.execute(TOOL, "{\"q\":\"java\"}", () -> "own result"));
+        awaitFollower();
+        leader.cancel(true);
+
+        assertEquals("own result", follower.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void finished_call_is_not_shared_with_later_calls() {
+        assertEquals("1", coalescer.execute(TOOL, "{}", () -> String.valueOf(upstreamCalls.incrementAndGet())));
+        assertEquals("2", coalescer.execute(TOOL, "{}", () -> String.valueOf(upstreamCalls.incrementAndGet())));
+    }
+
+    @Test
+    void tools_off_the_allowlist_are_not_coalesced() {
+        assertFalse(coalescer.isCoalesced("send_email"));
+        assertEquals("sent", coalescer.execute("send_email", "{}", () -> "sent"));
+        assertNull(meterRegistry.find("tool.singleflight.calls").counter());
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        awaitCount("leader");
+    }
+
+    private void awaitFollower() throws InterruptedException {
+        awaitCount("follower");
+    }
+
+    private void awaitCount(String role) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.find("tool.singleflight.calls").tag("role", role).counter() == null) {
+            if (System.nanoTime() > deadline) fail("no " + role + " call");
+            Thread.sleep(10);
+        }
+    }
+
+    private void awaitUnblock() {
+        try {
+            unblock.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted", e);
+        }
+    }
+}
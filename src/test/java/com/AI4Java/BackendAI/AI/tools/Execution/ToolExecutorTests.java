@@ -0,0 +1,161 @@
+package com.AI4Java.BackendAI.AI.tools.Execution;
+
+import com.AI4Java.BackendAI.config.ToolExecutionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ToolExecutorTests {
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    private ToolExecutor toolExecutor;
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        callers.shutdownNow();
+        if (toolExecutor != null) toolExecutor.shutdown();
+    }
+
+    @Test
+    void returns_result_of_the_call() {
+        toolExecutor = new ToolExecutor(new ToolExecutionProperties(), new SimpleMeterRegistry());
+
+        assertEquals("ok", toolExecutor.execute("tool", () -> "ok"));
+    }
+
+    @Test
+    void rethrows_tool_exceptions() {
+        toolExecutor = new ToolExecutor(new ToolExecutionProperties(), new SimpleMeterRegistry());
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> toolExecutor.execute("tool", () -> { throw new IllegalStateException("boom"); }));
+        assertEquals("boom", e.getMessage());
+    }
+
+    @Test
+    void rejects_call_when_bulkhead_is_full() throws Exception {
+        ToolExecutionProperties properties = new ToolExecutionProperties();
+        properties.setMaxConcurrent(Map.of("tool", 1));
+        properties.setBulkheadWait(Duration.ofMillis(50));
+        toolExecutor = new ToolExecutor(properties, new SimpleMeterRegistry());
+
+        CountDownLatch running = new CountDownLatch(1);
+        Future<String> first = callers.submit(() -> toolExecutor.execute("tool", () -> {
+            running.countDown();
+            awaitUnblock();
+            return "first";
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        assertTrue(toolExecutor.execute("tool", () -> "second").startsWith("⏳"));
+        // Other tools have their own bulkhead
+        assertEquals("other", toolExecutor.execute("other", () -> "other"));
+
+        unblock.countDown();
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        assertEquals("third", toolExecutor.execute("tool", () -> "third"));
+    }
+
+    @Test
+    void timed_out_running_call_frees_its_slot_once_it_stops() {
+        ToolExecutionProperties properties = new ToolExecutionProperties();
+        properties.setMaxConcurrent(Map.of("tool", 1));
+        properties.setTimeouts(Map.of("tool", Duration.ofMillis(100)));
+        toolExecutor = new ToolExecutor(properties, new SimpleMeterRegistry());
+
+        // Interrupted by the timeout, so the call stops and gives its slot back
+        String result = toolExecutor.execute("tool", () -> {
+            awaitUnblock();
+            return "late";
+        });
+        assertTrue(result.startsWith("❌"));
+
+        assertEquals("ok", toolExecutor.execute("tool", () -> "ok"));
+    }
+
+    @Test
+    void timed_out_queued_call_frees_its_slot() throws Exception {
+        ToolExecutionProperties properties = new ToolExecutionProperties();
+        properties.setPoolSize(1);
+        properties.setQueueCapacity(1);
+        properties.setMaxConcurrent(Map.of("queued", 1));
+        properties.setTimeouts(Map.of("queued", Duration.ofMillis(100)));
+        toolExecutor = new ToolExecutor(properties, new SimpleMeterRegistry());
+
+        // Occupy the only tool thread so the next call waits in the queue
+        CountDownLatch running = new CountDownLatch(1);
+        Future<String> blocker = callers.submit(() -> toolExecutor.execute("blocker", () -> {
+            running.countDown();
+            awaitUnblock();
+            return "blocker";
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        assertTrue(toolExecutor.execute("queued", () -> "never").startsWith("❌"));
+
+        unblock.countDown();
+        assertEquals("blocker", blocker.get(5, TimeUnit.SECONDS));
+        assertEquals("ok", toolExecutor.execute("queued", () -> "ok"));
+    }
+
+    @Test
+    void interrupted_caller_records_an_interrupted_outcome() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        toolExecutor = new ToolExecutor(new ToolExecutionProperties(), meterRegistry);
+
+        CountDownLatch running = new CountDownLatch(1);
+        Future<String> caller = callers.submit(() -> toolExecutor.execute("tool", () -> {
+            running.countDown();
+            return awaitUnblock();
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        caller.cancel(true);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.find("tool.execution").tag("outcome", "interrupted").timer() == null) {
+            if (System.nanoTime() > deadline) fail("no interrupted outcome recorded");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void rejects_call_when_virtual_admission_is_full() throws Exception {
+        ToolExecutionProperties properties = new ToolExecutionProperties();
+        properties.setVirtualThreads(true);
+        properties.setPoolSize(1);
+        properties.setQueueCapacity(0);
+        toolExecutor = new ToolExecutor(properties, new SimpleMeterRegistry());
+
+        CountDownLatch running = new CountDownLatch(1);
+        Future<String> first = callers.submit(() -> toolExecutor.execute("tool", () -> {
+            running.countDown();
+            awaitUnblock();
+            return "first";
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        assertTrue(toolExecutor.execute("other", () -> "second").startsWith("⏳"));
+
+        unblock.countDown();
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        assertEquals("third", toolExecutor.execute("other", () -> "third"));
+    }
+
+    private String awaitUnblock() {
+        try {
+            unblock.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted", e);
+        }
+        return "unblocked";
+    }
+}
@@ -0,0 +1,63 @@
+package com.AI4Java.BackendAI.AI.tools.Http;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HostPolitenessFilterTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    // Refill during the test itself, far below one token at one token per second
+    private static final long SLACK = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Test
+    void burst_is_free_then_requests_wait_for_their_turn() {
+        HostPolitenessFilter.TokenBucket bucket = new HostPolitenessFilter.TokenBucket(1.0, 2);
+
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+
+        assertDelay(SECOND, bucket.reserve());
+        // Each reservation queues behind the previous one
+        assertDelay(2 * SECOND, bucket.reserve());
+    }
+
+    @Test
+    void refund_hands_the_reserved_token_back() {
+        HostPolitenessFilter.TokenBucket bucket = new HostPolitenessFilter.TokenBucket(1.0, 1);
+
+        assertEquals(0, bucket.reserve());
+        assertDelay(SECOND, bucket.reserve());
+
+        // The cancelled request's turn goes to the next one
+        bucket.refund();
+        assertDelay(SECOND, bucket.reserve());
+    }
+
+    @Test
+    void refund_never_exceeds_the_burst() {
+        HostPolitenessFilter.TokenBucket bucket = new HostPolitenessFilter.TokenBucket(1.0, 1);
+
+        bucket.refund();
+        bucket.refund();
+
+        assertEquals(0, bucket.reserve());
+        assertDelay(SECOND, bucket.reserve());
+    }
+
+    @Test
+    void zero_rate_disables_throttling() {
+        HostPolitenessFilter.TokenBucket bucket = new HostPolitenessFilter.TokenBucket(0, 1);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, bucket.reserve());
+        }
+    }
+
+    private static void assertDelay(long expectedNanos, long actualNanos) {
+        assertTrue(actualNanos <= expectedNanos && actualNanos > expectedNanos - SLACK,
+                "expected about " + expectedNanos + "ns but was " + actualNanos + "ns");
+    }
+}
@@ -0,0 +1,83 @@
+package com.AI4Java.BackendAI.AI.tools.Scraping;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TieredPageFetcherTests {
+
+    private static final String ARTICLE = "<html><body><article><p>" + "Server rendered text. ".repeat(30)
+            + "</p></article></body></html>";
+    private static final String SHELL = "<html><body><div id=\"root\"></div><script src=\"/app.js\"></script></body></html>";
+
+    private HttpPageFetcher httpFetcher;
+    private TieredPageFetcher fetcher;
+    private final AtomicInteger browserFetches = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        httpFetcher = mock(HttpPageFetcher.class);
+        fetcher = new TieredPageFetcher(httpFetcher, new SimpleMeterRegistry(), true, Duration.ofHours(6));
+    }
+
+    private String browser(String url) {
+        browserFetches.incrementAndGet();
+        return ARTICLE;
+    }
+
+    @Test
+    void http_page_keeps_its_validators() {
+        when(httpFetcher.fetch(anyString())).thenReturn(HttpPageFetcher.Result.ok(ARTICLE, "\"v1\"", "Mon, 01 Jan 2024 00:00:00 GMT"));
+
+        FetchedPage page = fetcher.fetch("https://example.com/a", this::browser);
+
+        assertEquals("\"v1\"", page.getEtag());
+        assertEquals("Mon, 01 Jan 2024 00:00:00 GMT", page.getLastModified());
+        assertEquals(0, browserFetches.get());
+    }
+
+    @Test
+    void failed_http_fetch_does_not_pin_domain_to_browser() {
+        when(httpFetcher.fetch("https://example.com/missing")).thenReturn(HttpPageFetcher.Result.failed("HTTP 404"));
+        when(httpFetcher.fetch("https://example.com/ok")).thenReturn(HttpPageFetcher.Result.ok(ARTICLE, null, null));
+
+        FetchedPage missing = fetcher.fetch("https://example.com/missing", this::browser);
+        assertNull(missing.getEtag());
+        assertEquals(1, browserFetches.get());
+
+        fetcher.fetch("https://example.com/ok", this::browser);
+        verify(httpFetcher).fetch("https://example.com/ok");
+        assertEquals(1, browserFetches.get());
+    }
+
+    @Test
+    void js_shell_pins_domain_to_browser() {
+        when(httpFetcher.fetch(anyString())).thenReturn(HttpPageFetcher.Result.ok(SHELL, null, null));
+
+        fetcher.fetch("https://spa.example.com/a", this::browser);
+        fetcher.fetch("https://spa.example.com/b", this::browser);
+
+        verify(httpFetcher, times(1)).fetch(anyString());
+        assertEquals(2, browserFetches.get());
+    }
+
+    @Test
+    void unchanged_only_for_not_modified_response_to_stale_page_with_validators() {
+        ScrapedPage withValidators = new ScrapedPage("https://example.com/a", "t", "example.com", "", "", "",
+                "content", "\"v1\"", null, 0);
+        ScrapedPage withoutValidators = new ScrapedPage("https://example.com/b", "t", "example.com", "", "", "",
+                "content", null, null, 0);
+        when(httpFetcher.fetch(anyString(), any(ScrapedPage.class))).thenReturn(HttpPageFetcher.Result.notModified());
+
+        assertTrue(fetcher.isUnchanged("https://example.com/a", withValidators));
+        assertFalse(fetcher.isUnchanged("https://example.com/b", withoutValidators));
+        verify(httpFetcher, never()).fetch("https://example.com/b", withoutValidators);
+    }
+}
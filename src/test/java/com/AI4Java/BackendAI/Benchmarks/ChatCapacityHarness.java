@@ -0,0 +1,202 @@
+package com.AI4Java.BackendAI.Benchmarks;
+
+import com.AI4Java.BackendAI.AI.tools.Execution.ToolExecutor;
+import com.AI4Java.BackendAI.config.ToolExecutionProperties;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Concurrent chat capacity on platform vs. virtual threads. Each simulated user runs a few chat
+ * turns back to back; a turn blocks on a model call, runs one tool, then blocks on a second model
+ * call, all against a local stub server with fixed latencies. Three modes:
+ * "inline" runs the tool on the request thread of a 200-thread pool (Tomcat's default), as before
+ * {@link ToolExecutor}; "platform" uses the same request pool with the pooled tool executor;
+ * "virtual" serves turns on virtual threads with {@code tools.execution.virtual-threads}.
+ * All three admit at most {@link #TOOL_ADMISSION} tool calls at once, waiting up to the default
+ * bulkhead wait for a slot, so only the threading differs. A turn whose tool call is turned away
+ * with a busy result counts as rejected, and one that throws as failed; neither is in turns/s
+ * or the latencies.
+ * Run {@link #main} on the test classpath; it is not picked up by surefire.
+ */
+public class ChatCapacityHarness {
+
+    private static final int MODEL_LATENCY_MS = 300;
+    private static final int TOOL_LATENCY_MS = 200;
+    private static final int TURNS_PER_USER = 5;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int TOOL_ADMISSION = 64;
+    private static final int[] CONCURRENT_USERS = {50, 200, 400, 800};
+    private static final String TOOL_NAME = "stub_tool";
+    private static final Duration BULKHEAD_WAIT = new ToolExecutionProperties().getBulkheadWait();
+
+    private static HttpClient httpClient;
+    private static String baseUrl;
+
+    public static void main(String[] args) throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        server.createContext("/delay", exchange -> {
+            try {
+                Thread.sleep(Long.parseLong(exchange.getRequestURI().getQuery()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/delay?";
+        httpClient = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+
+        System.out.printf("%-9s %6s %10s %9s %9s %9s %9s%n", "mode", "users", "turns/s", "p50 ms", "p99 ms",
+                "rejected", "failed");
+        try {
+            for (int users : CONCURRENT_USERS) {
+                run("inline", users, inlineTools(), Executors.newFixedThreadPool(TOMCAT_MAX_THREADS));
+                ToolExecutor platform = toolExecutor(false);
+                try {
+                    run("platform", users, tool -> platform.execute(TOOL_NAME, tool),
+                            Executors.newFixedThreadPool(TOMCAT_MAX_THREADS));
+                } finally {
+                    platform.shutdown();
+                }
+                ToolExecutor virtual = toolExecutor(true);
+                try {
+                    run("virtual", users, tool -> virtual.execute(TOOL_NAME, tool),
+                            Executors.newVirtualThreadPerTaskExecutor());
+                } finally {
+                    virtual.shutdown();
+                }
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    /**
+     * Tool executor whose only binding limit is the stub tool's bulkhead: the pool and the
+     * virtual admission are both larger than {@link #TOOL_ADMISSION}.
+     */
+    private static ToolExecutor toolExecutor(boolean virtual) {
+        ToolExecutionProperties properties = new ToolExecutionProperties();
+        properties.setVirtualThreads(virtual);
+        properties.setPoolSize(TOOL_ADMISSION);
+        properties.setQueueCapacity(TOOL_ADMISSION);
+        properties.setMaxConcurrent(Map.of(TOOL_NAME, TOOL_ADMISSION));
+        return new ToolExecutor(properties, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Runs the tool on the calling thread behind the same admission limit the executor modes get.
+     */
+    private static Function<Supplier<String>, String> inlineTools() {
+        Semaphore admission = new Semaphore(TOOL_ADMISSION);
+        return tool -> {
+            try {
+                if (!admission.tryAcquire(BULKHEAD_WAIT.toMillis(), TimeUnit.MILLISECONDS)) {
+                    return "⏳ Tool " + TOOL_NAME + " is busy with other requests.";
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return "❌ Tool " + TOOL_NAME + " was interrupted.";
+            }
+            try {
+                return tool.get();
+            } finally {
+                admission.release();
+            }
+        };
+    }
+
+    private static void run(String mode, int users, Function<Supplier<String>, String> tools,
+                            ExecutorService requestThreads) throws InterruptedException {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(users);
+        long start = System.nanoTime();
+
+        // Users send their next turn as soon as the last one answers; a turn that finds no free
+        // request thread waits for one, like a request in Tomcat's accept queue
+        for (int user = 0; user < users; user++) {
+            Thread.ofPlatform().start(() -> {
+                try {
+                    for (int turn = 0; turn < TURNS_PER_USER; turn++) {
+                        long submitted = System.nanoTime();
+                        try {
+                            boolean completed = requestThreads.submit(() -> chatTurn(tools)).get();
+                            if (completed) {
+                                latencies.add((System.nanoTime() - submitted) / 1_000_000);
+                            } else {
+                                rejected.incrementAndGet();
+                            }
+                        } catch (ExecutionException e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        requestThreads.shutdownNow();
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        System.out.printf("%-9s %6d %10.1f %9d %9d %9d %9d%n", mode, users, sorted.size() / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), rejected.get(), failed.get());
+    }
+
+    /**
+     * One chat turn; {@code false} when its tool call was turned away as busy.
+     */
+    private static boolean chatTurn(Function<Supplier<String>, String> tools) {
+        get(MODEL_LATENCY_MS);
+        String result = tools.apply(() -> get(TOOL_LATENCY_MS));
+        get(MODEL_LATENCY_MS);
+        return !result.startsWith("⏳");
+    }
+
+    private static String get(int delayMs) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + delayMs)).build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) return 0;
+        return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(p * sorted.size()) - 1));
+    }
+}
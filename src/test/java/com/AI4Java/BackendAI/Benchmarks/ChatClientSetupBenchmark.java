@@ -0,0 +1,116 @@
+package com.AI4Java.BackendAI.Benchmarks;
+
+import com.AI4Java.BackendAI.AI.ChatClientRegistry;
+import com.AI4Java.BackendAI.AI.tools.Emails.EmailTools;
+import com.AI4Java.BackendAI.AI.tools.Emails.ReportTools;
+import com.AI4Java.BackendAI.AI.tools.Emails.ServerInfoTools;
+import com.AI4Java.BackendAI.AI.tools.WebSearch.PlaywrightBrowserSearchTools;
+import com.AI4Java.BackendAI.AI.tools.WebSearch.PlaywrightWebScraperTools;
+import com.AI4Java.BackendAI.AI.tools.WebSearch.SeleniumBrowserSearchTools;
+import com.AI4Java.BackendAI.AI.tools.WebSearch.SeleniumWebScraperTools;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.openai.api.OpenAiApi;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request ChatClient setup cost: rebuilding the model/client/tool callbacks on every
+ * turn (old AiClient_Updated path) vs. looking up a prebuilt client from {@link ChatClientRegistry}.
+ * No request is sent; only the work done before {@code stream()} is measured.
+ * Run {@link #main} on the test classpath; it is not picked up by surefire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatClientSetupBenchmark {
+
+    private static final String MODEL = "gpt-4o-mini";
+    private static final String CONV_ID = "66b1f0c2a1b2c3d4e5f60718";
+
+    private OpenAiApi openAiApi;
+    private ChatMemory chatMemory;
+    private Object[] toolBeans;
+    private ChatClientRegistry registry;
+
+    @Setup
+    public void setup() {
+        openAiApi = OpenAiApi.builder()
+                .baseUrl("http://localhost:1")
+                .apiKey("benchmark")
+                .build();
+        chatMemory = MessageWindowChatMemory.builder().build();
+        toolBeans = new Object[]{new EmailTools(), new ServerInfoTools(),
+                new ReportTools(), new PlaywrightBrowserSearchTools(),
+                new PlaywrightWebScraperTools(), new SeleniumBrowserSearchTools(),
+                new SeleniumWebScraperTools()};
+        registry = new ChatClientRegistry(openAiApi, chatMemory, toolBeans);
+        registry.getClient(MODEL);
+    }
+
+    @Benchmark
+    public ChatClient.ChatClientRequestSpec perRequestRebuild() {
+        OpenAiChatOptions openAiChatOptions = OpenAiChatOptions.builder()
+                .model(MODEL)
+                .temperature(0.7)
+                .topP(0.90)
+                .frequencyPenalty(1.15)
+                .reasoningEffort("high")
+                .maxTokens(8192)
+                .build();
+
+        OpenAiChatModel chatModel = OpenAiChatModel.builder()
+                .openAiApi(openAiApi)
+                .defaultOptions(openAiChatOptions)
+                .build();
+
+        MessageChatMemoryAdvisor advisor = MessageChatMemoryAdvisor
+                .builder(chatMemory)
+                .conversationId(CONV_ID)
+                .build();
+
+        ChatClient chatClient = ChatClient.builder(chatModel)
+                .defaultAdvisors(advisor)
+                .build();
+
+        return chatClient
+                .prompt()
+                .system("system")
+                .user("hello")
+                .toolContext(Map.of("userMail", "bench@example.com"))
+                .toolContext(Map.of("userVerify", true))
+                .tools(toolBeans);
+    }
+
+    @Benchmark
+    public ChatClient.ChatClientRequestSpec registryLookup() {
+        return registry.getClient(MODEL)
+                .prompt()
+                .system("system")
+                .user("hello")
+                .advisors(a -> a.param(ChatMemory.CONVERSATION_ID, CONV_ID))
+                .toolContext(Map.of(
+                        "userMail", "bench@example.com",
+                        "userVerify", true));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ChatClientSetupBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,111 @@
+package com.AI4Java.BackendAI.Benchmarks;
+
+import ch.qos.logback.classic.Level;
+import com.AI4Java.BackendAI.config.filter.JwtFilter;
+import com.AI4Java.BackendAI.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT filter path: the previous three-parse flow with a per-call HMAC key (extractUsername +
+ * validateToken) vs. the current single parseAndValidate through {@link JwtFilter}.
+ * UserDetails lookup is stubbed so only token handling is measured.
+ * Run {@link #main} on the test classpath; it is not picked up by surefire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+    private static final String USERNAME = "bench-user";
+
+    private JwtUtil jwtUtil;
+    private JwtFilter jwtFilter;
+    private UserDetails userDetails;
+    private String token;
+    private final FilterChain noopChain = (req, res) -> { };
+
+    @Setup
+    public void setup() {
+        // Per-request INFO logging would otherwise dominate the measurement
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(JwtFilter.class)).setLevel(Level.WARN);
+
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "KEY", SECRET);
+        jwtUtil.validateSecretKey();
+
+        userDetails = User.withUsername(USERNAME).password("x").roles("USER").build();
+        UserDetailsService userDetailsService = username -> userDetails;
+
+        jwtFilter = new JwtFilter();
+        ReflectionTestUtils.setField(jwtFilter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(jwtFilter, "userDetailsService", userDetailsService);
+
+        token = jwtUtil.generateToken(USERNAME);
+    }
+
+    @Benchmark
+    public boolean legacyTripleParse() {
+        // extractUsername + validateToken(extractUsername, extractExpiration), each rebuilding the key
+        String username = legacyParse(token).getSubject();
+        boolean sameUser = legacyParse(token).getSubject().equals(username);
+        boolean notExpired = !legacyParse(token).getExpiration().before(new Date());
+        return sameUser && notExpired && userDetails.getUsername().equals(username);
+    }
+
+    @Benchmark
+    public boolean singleParse() {
+        Claims claims = jwtUtil.parseAndValidate(token);
+        return jwtUtil.validateClaims(claims, userDetails);
+    }
+
+    @Benchmark
+    public Object filterSingleParse() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/sessions");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            jwtFilter.doFilter(request, new MockHttpServletResponse(), noopChain);
+            return request.getAttribute(JwtUtil.CLAIMS_ATTRIBUTE);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static Claims legacyParse(String jwt) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtFilterBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
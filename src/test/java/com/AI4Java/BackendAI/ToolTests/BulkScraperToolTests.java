@@ -0,0 +1,41 @@
+package com.AI4Java.BackendAI.ToolTests;
+
+import com.AI4Java.BackendAI.AI.tools.WebSearch.BulkScraperTools;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BulkScraperToolTests {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkScraperToolTests.class);
+    @Autowired
+    private BulkScraperTools bulkScraperTools;
+
+    @Test
+    void scrape_many(){
+        String response = bulkScraperTools.scrape_many(List.of(
+                "https://en.wikipedia.org/wiki/Java_(programming_language)",
+                "https://en.wikipedia.org/wiki/Spring_Framework",
+                "https://en.wikipedia.org/wiki/Spring_Framework/?utm_source=test"));
+        log.info(response);
+        assertFalse(response.contains("❌"));
+        assertTrue(response.contains("(2/2 pages"));
+    }
+
+    @Test
+    void scrape_many_invalid_urls(){
+        String response = bulkScraperTools.scrape_many(List.of("ftp://example.com", "not a url"));
+        log.info(response);
+        assertTrue(response.contains("❌"));
+    }
+}